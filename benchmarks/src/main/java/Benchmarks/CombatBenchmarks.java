@@ -0,0 +1,71 @@
+package Benchmarks;
+
+import GameEngine.BattleSimulator;
+import GameEngine.DiceSet;
+import GameEngine.DiceType;
+import GameEngine.SimulationStats;
+import GameObjects.MobileObjects.MOB;
+import IO.CSVGameData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks combat: {@link MOB#calculateAttack(DiceSet, MOB)}, and a full battle of the combat engine,<br>
+ * fought through {@link BattleSimulator} with the knights of the save file against a drawn encounter.<br>
+ * <br>
+ * Game data is read from the working directory, so run the benchmarks from the project's root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CombatBenchmarks {
+    @Param("GameData/NormalData")
+    public String data;
+
+    @Param("SaveFiles/default.csv")
+    public String save;
+
+    private DiceSet dice;
+    private MOB attacker;
+    private MOB target;
+
+    private BattleSimulator simulator;
+    private SimulationStats stats;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        dice = new DiceSet(random.split());
+        attacker = new MOB("Orc", 50, 14, 1, DiceType.D6);
+        target = new MOB("Kobold", 25, 9, -1, DiceType.D4);
+
+        simulator = new BattleSimulator(new CSVGameData(data, save, random.split()), random.split());
+        stats = new SimulationStats();
+    }
+
+    @Benchmark
+    public int calculateAttack() {
+        return attacker.calculateAttack(dice, target);
+    }
+
+    @Benchmark
+    public long battle() {
+        simulator.run(1, stats);
+        return stats.getBattles();
+    }
+}
@@ -0,0 +1,44 @@
+package Benchmarks;
+
+import GameEngine.DiceSet;
+import GameEngine.DiceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DiceSet#roll(DiceType)} for each {@link DiceType}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class DiceBenchmarks {
+    @Param({"D4", "D6", "D8", "D10", "D12", "D20"})
+    public DiceType type;
+
+    private DiceSet dice;
+
+    @Setup
+    public void setup() {
+        dice = new DiceSet(new SplittableRandom(42));
+    }
+
+    @Benchmark
+    public int roll() {
+        return dice.roll(type);
+    }
+}
@@ -0,0 +1,81 @@
+package Benchmarks;
+
+import GameObjects.MobileObjects.Knight;
+import IO.CSVGameData;
+import IO.CSVReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks game data: drawing encounters with {@link CSVGameData#getRandomMonsters(int)},<br>
+ * and parsing a roster of {@value #ROSTER_SIZE} knights with {@link CSVGameData#parseKnights(CSVReader)}.<br>
+ * <br>
+ * Game data is read from the working directory, so run the benchmarks from the project's root.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class GameDataBenchmarks {
+    public static final int ROSTER_SIZE = 1_000; // Knights in the parsed roster.
+
+    @Param("GameData/NormalData")
+    public String data;
+
+    @Param("SaveFiles/default.csv")
+    public String save;
+
+    /**
+     * The size of the drawn encounters. Kept apart, so only the encounter benchmark runs for each size.
+     */
+    @State(Scope.Thread)
+    public static class Encounter {
+        @Param({"1", "2", "3", "4"})
+        public int size;
+    }
+
+    private CSVGameData gameData;
+    private CSVGameData parser;
+    private ByteBuffer rosterCSV;
+
+    @Setup
+    public void setup() {
+        gameData = new CSVGameData(data, save, new SplittableRandom(42));
+        parser = new CSVGameData(data, save);
+
+        List<Knight> knights = gameData.getKnights();
+        StringBuilder roster = new StringBuilder();
+        for (int i = 0; i < ROSTER_SIZE; ++i) {
+            roster.append(knights.get(i % knights.size()).toCSV()).append('\n');
+        }
+        rosterCSV = ByteBuffer.wrap(roster.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public int getRandomMonsters(Encounter encounter) {
+        return gameData.getRandomMonsters(encounter.size).size();
+    }
+
+    @Benchmark
+    public int parseKnights() {
+        parser.parseKnights(new CSVReader(rosterCSV));
+        return parser.getKnights().size();
+    }
+}
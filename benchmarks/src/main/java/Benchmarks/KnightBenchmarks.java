@@ -0,0 +1,46 @@
+package Benchmarks;
+
+import GameEngine.DiceType;
+import GameObjects.Effects.Fortune;
+import GameObjects.MobileObjects.Knight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading a {@link Knight}'s stats while a {@link Fortune} is applied.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class KnightBenchmarks {
+    private Knight knight;
+
+    @Setup
+    public void setup() {
+        knight = new Knight(1, "Lancelot", 40, 16, 2, DiceType.D8, 0);
+        knight.setActiveFortune(new Fortune("Merlin Luck", 10, 5, 2, 0, DiceType.D12));
+    }
+
+    @Benchmark
+    public void statsWithFortune(Blackhole sink) {
+        sink.consume(knight.getMaxHP());
+        sink.consume(knight.getArmor());
+        sink.consume(knight.getAccuracy());
+        sink.consume(knight.getDamageDie());
+        sink.consume(knight.getHP());
+    }
+}
@@ -0,0 +1,95 @@
+package Benchmarks;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Times small pieces of code for tracking performance between releases.<br>
+ * <br>
+ * <p>
+ *     Each benchmark runs for a warmup period, so the JIT can compile it,<br>
+ *     then is timed over several measurement iterations. Results are reported as nanoseconds per operation.<br>
+ *     Every result is folded into a sink, so the JIT cannot discard the work being measured.
+ * </p>
+ *
+ * @see GameBenchmarks
+ */
+public class Benchmark {
+    private static volatile int sink; // Consumes results so they are not optimized away.
+
+    private final long warmupNanos; // Time spent warming up each benchmark.
+    private final long iterationNanos; // Time spent in each measurement iteration.
+    private final int iterations; // The number of measurement iterations.
+
+    /**
+     * Constructs a benchmark runner.
+     *
+     * @param warmupMillis    the warmup time per benchmark, in milliseconds
+     * @param iterationMillis the time per measurement iteration, in milliseconds
+     * @param iterations      the number of measurement iterations
+     */
+    public Benchmark(long warmupMillis, long iterationMillis, int iterations) {
+        this.warmupNanos = warmupMillis * 1_000_000;
+        this.iterationNanos = iterationMillis * 1_000_000;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Times an operation and prints the result.<br>
+     * <br>
+     * <p>
+     *     Printed as:<br>
+     *     <code>name  mean ns/op  +- standard deviation</code>
+     * </p>
+     *
+     * @param name the name of the benchmark
+     * @param op   the operation to time, returning any value derived from its work
+     * @return the mean nanoseconds per operation
+     */
+    public double run(String name, IntSupplier op) {
+        runFor(warmupNanos, op);
+
+        double[] results = new double[iterations];
+        for (int i = 0; i < iterations; ++i) {
+            results[i] = runFor(iterationNanos, op);
+        }
+
+        double mean = 0;
+        for (double result : results) mean += result;
+        mean /= iterations;
+
+        double variance = 0;
+        for (double result : results) variance += (result - mean) * (result - mean);
+        double deviation = Math.sqrt(variance / iterations);
+
+        System.out.printf("%-40s %12.2f ns/op  +- %.2f%n", name, mean, deviation);
+        return mean;
+    }
+
+    /**
+     * Repeats an operation for a period of time.
+     *
+     * @param nanos the time to run for
+     * @param op    the operation to repeat
+     * @return the nanoseconds per operation
+     */
+    private static double runFor(long nanos, IntSupplier op) {
+        int result = 0;
+        long operations = 0;
+        long batch = 1;
+        long start = System.nanoTime();
+        long elapsed;
+
+        // Batches grow, so reading the clock does not dominate fast operations.
+        do {
+            for (long i = 0; i < batch; ++i) {
+                result += op.getAsInt();
+            }
+            operations += batch;
+            batch = Math.min(batch * 2, 1 << 20);
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < nanos);
+
+        sink += result;
+        return (double) elapsed / operations;
+    }
+}
@@ -0,0 +1,203 @@
+package Benchmarks;
+
+import GameEngine.*;
+import GameObjects.Effects.Fortune;
+import GameObjects.MobileObjects.Knight;
+import GameObjects.MobileObjects.MOB;
+import IO.CSVGameData;
+import IO.CSVReader;
+import IO.CSVWriter;
+import IO.RosterSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks the hot paths of the game.<br>
+ * <br>
+ * <ul>
+ *     <li>{@link DiceSet#roll(DiceType)} for each {@link DiceType}, and bulk rolls</li>
+ *     <li>{@link MOB#calculateAttack(DiceSet, MOB)}</li>
+ *     <li>{@link Knight} stat getters with a {@link Fortune} applied</li>
+ *     <li>{@link CSVGameData#getRandomMonsters(int)}</li>
+ *     <li>CSV parsing of knights in {@link CSVGameData}</li>
+ *     <li>A full {@link CombatEngine} battle, through {@link BattleSimulator}</li>
+ * </ul>
+ * <p>
+ *     Releases are tracked with the JMH suite of the <code>benchmarks</code> module, which forks and uses<br>
+ *     JMH's blackholes: build it with <code>mvn package</code>, then run<br>
+ *     <code>java -jar benchmarks/target/benchmarks.jar</code> from the project's root.<br>
+ *     This harness is a quick check without Maven.
+ * </p>
+ *
+ * @see Benchmark
+ */
+public class GameBenchmarks {
+    private static final int ROSTER_SIZE = 1_000; // Knights in the parsed roster.
+
+    /**
+     * Runs every benchmark.<br>
+     * <br>
+     * <p>
+     *     Arguments are given as <code>--key=value</code>:
+     *     <ul>
+     *         <li><code>--warmup</code> warmup time per benchmark, in ms (default: 1000)</li>
+     *         <li><code>--time</code> time per measurement iteration, in ms (default: 1000)</li>
+     *         <li><code>--iterations</code> measurement iterations (default: 5)</li>
+     *         <li><code>--data</code> the game data folder</li>
+     *         <li><code>--save</code> the save file for the roster</li>
+     *     </ul>
+     * </p>
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        long warmup = 1000;
+        long time = 1000;
+        int iterations = 5;
+        String gameDataPath = "GameData/NormalData";
+        String saveDataPath = "SaveFiles/default.csv";
+
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length < 2) continue;
+
+            switch (option[0]) {
+                case "--warmup":
+                    warmup = Long.parseLong(option[1]);
+                    break;
+                case "--time":
+                    time = Long.parseLong(option[1]);
+                    break;
+                case "--iterations":
+                    iterations = Integer.parseInt(option[1]);
+                    break;
+                case "--data":
+                    gameDataPath = option[1];
+                    break;
+                case "--save":
+                    saveDataPath = option[1];
+                    break;
+                default:
+                    System.err.println("Unknown option: " + option[0]);
+            }
+        }
+
+        Benchmark bench = new Benchmark(warmup, time, iterations);
+        SplittableRandom random = new SplittableRandom(42);
+        CSVGameData data = new CSVGameData(gameDataPath, saveDataPath, random.split());
+
+        benchDice(bench, new DiceSet(random.split()));
+        benchAttack(bench, new DiceSet(random.split()));
+        benchKnightStats(bench);
+        benchGameData(bench, data);
+        benchParsing(bench, data, gameDataPath, saveDataPath);
+        benchSaving(bench, data);
+        benchBattle(bench, data, random.split());
+    }
+
+    private static void benchDice(Benchmark bench, DiceSet dice) {
+        for (DiceType type : DiceType.values()) {
+            if (type == DiceType.NONE) continue;
+            bench.run("DiceSet.roll(" + type + ")", () -> dice.roll(type));
+        }
+
+        int[] rolls = new int[1024];
+        bench.run("DiceSet.rollMany(D20, 1024)", () -> {
+            dice.rollMany(DiceType.D20, rolls);
+            return rolls[0];
+        });
+        bench.run("DiceSet.rollSum(D6, 8)", () -> dice.rollSum(DiceType.D6, 8));
+    }
+
+    private static void benchAttack(Benchmark bench, DiceSet dice) {
+        MOB attacker = new MOB("Orc", 50, 14, 1, DiceType.D6);
+        MOB target = new MOB("Kobold", 25, 9, -1, DiceType.D4);
+
+        bench.run("MOB.calculateAttack", () -> attacker.calculateAttack(dice, target));
+    }
+
+    private static void benchKnightStats(Benchmark bench) {
+        Knight knight = new Knight(1, "Lancelot", 40, 16, 2, DiceType.D8, 0);
+        knight.setActiveFortune(new Fortune("Merlin Luck", 10, 5, 2, 0, DiceType.D12));
+
+        bench.run("Knight stats (with fortune)", () ->
+                knight.getMaxHP() + knight.getArmor() + knight.getAccuracy()
+                        + knight.getDamageDie().ordinal() + knight.getHP());
+    }
+
+    private static void benchGameData(Benchmark bench, CSVGameData data) {
+        for (int size = 1; size <= data.getMaxActive(); ++size) {
+            int encounterSize = size;
+            bench.run("GameData.getRandomMonsters(" + size + ")", () ->
+                    data.getRandomMonsters(encounterSize).size());
+        }
+    }
+
+    private static void benchParsing(Benchmark bench, CSVGameData data, String gameDataPath, String saveDataPath) {
+        List<Knight> knights = data.getKnights();
+        if (knights.isEmpty()) return;
+
+        StringBuilder roster = new StringBuilder();
+        for (int i = 0; i < ROSTER_SIZE; ++i) {
+            roster.append(knights.get(i % knights.size()).toCSV()).append('\n');
+        }
+        ByteBuffer rosterCSV = ByteBuffer.wrap(roster.toString().getBytes(StandardCharsets.UTF_8));
+        CSVGameData parser = new CSVGameData(gameDataPath, saveDataPath);
+
+        double nanos = bench.run("CSVGameData.parseKnights (" + ROSTER_SIZE + ")", () -> {
+            parser.parseKnights(new CSVReader(rosterCSV));
+            return parser.getKnights().size();
+        });
+        System.out.printf("%-40s %12.2f ns/knight%n", "", nanos / ROSTER_SIZE);
+    }
+
+    private static void benchSaving(Benchmark bench, CSVGameData data) {
+        List<Knight> knights = data.getKnights();
+        if (knights.isEmpty()) return;
+
+        ArrayList<Knight> roster = new ArrayList<>(ROSTER_SIZE);
+        for (int i = 0; i < ROSTER_SIZE; ++i) {
+            roster.add(knights.get(i % knights.size()));
+        }
+        RosterSnapshot snapshot = RosterSnapshot.of(roster);
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        CSVWriter writer = new CSVWriter(sink);
+
+        bench.run("Knight.toCSV (" + ROSTER_SIZE + ")", () -> {
+            int length = 0;
+            for (Knight knight : roster) length += knight.toCSV().length();
+            return length;
+        });
+        double nanos = bench.run("CSVGameData.writeKnights (" + ROSTER_SIZE + ")", () -> {
+            sink.reset();
+            try {
+                CSVGameData.writeKnights(writer, snapshot);
+                writer.flush();
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return sink.size();
+        });
+        System.out.printf("%-40s %12.2f ns/knight%n", "", nanos / ROSTER_SIZE);
+    }
+
+    private static void benchBattle(Benchmark bench, CSVGameData data, SplittableRandom random) {
+        if (data.getKnights().isEmpty()) return;
+
+        BattleSimulator simulator = new BattleSimulator(data, random);
+        SimulationStats stats = new SimulationStats();
+
+        bench.run("CombatEngine battle", () -> {
+            simulator.run(1, stats);
+            return (int) stats.getBattles();
+        });
+    }
+}
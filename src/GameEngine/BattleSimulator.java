@@ -0,0 +1,188 @@
+package GameEngine;
+
+import GameObjects.MobileObjects.Knight;
+import IO.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Runs battles headlessly for balancing game data.<br>
+ * <br>
+ * <p>
+ *     Each trial draws a random party from the roster, gives each knight a random fortune,<br>
+ *     and sends them against a random encounter (see {@link CombatEngine#doBattle(BattleState)}).<br>
+ *     Knights and monster templates are only read into a reused {@link BattleState},<br>
+ *     so the roster is never modified and trials do not allocate.<br>
+ *     All output is discarded through a {@link NullGameView}.
+ * </p>
+ * <p>
+ *     A simulator only reads the game data, so several may share it on separate threads,<br>
+ *     as long as each has its own random source.
+ * </p>
+ *
+ * @see SimulationStats
+ * @see MonteCarloRunner
+ */
+public class BattleSimulator {
+
+    private final GameData DATA; // The data for the game.
+    private final CombatEngine ENGINE; // Fights the battles.
+    private final RandomGenerator RANDOM;
+
+    private final int[] rosterOrder; // Reused for drawing parties without repeats.
+    private final BattleState state; // Reused for every battle.
+
+    /**
+     * Constructs a simulator over the given game data.
+     *
+     * @param data game data.
+     */
+    public BattleSimulator(GameData data) {
+        this(data, new Random());
+    }
+
+    /**
+     * Constructs a simulator over the given game data, drawing from the given random source.
+     *
+     * @param data game data.
+     * @param random the source of parties, encounters and dice.
+     */
+    public BattleSimulator(GameData data, RandomGenerator random) {
+        DATA = data;
+        ENGINE = new CombatEngine(data, new NullGameView(), random);
+        RANDOM = random;
+
+        rosterOrder = new int[data.getKnights().size()];
+        for (int i = 0; i < rosterOrder.length; ++i) rosterOrder[i] = i;
+        state = new BattleState(data.getMaxActive());
+    }
+
+    /**
+     * Simulates a number of battles.
+     *
+     * @param trials the number of battles to fight
+     * @return the tally of the results
+     */
+    public SimulationStats run(int trials) {
+        SimulationStats stats = new SimulationStats();
+        long start = System.nanoTime();
+
+        run(trials, stats);
+
+        stats.addElapsed(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * Simulates a number of battles, without timing them.
+     *
+     * @param trials the number of battles to fight
+     * @param stats  the tally to record the results
+     */
+    public void run(int trials, SimulationStats stats) {
+        for (int i = 0; i < trials; ++i) {
+            runTrial(stats);
+        }
+    }
+
+    /**
+     * Fights one battle with a random party and encounter.
+     *
+     * @param stats the tally to record the result
+     */
+    private void runTrial(SimulationStats stats) {
+        state.clear();
+        int partySize = drawParty();
+
+        int encounterSize = RANDOM.nextInt(partySize) + 1;
+        for (int i = 0; i < encounterSize; ++i) {
+            state.addMonster(DATA.getRandomMonsterTemplate(RANDOM));
+        }
+
+        boolean hasLost = ENGINE.doBattle(state);
+        stats.record(!hasLost, ENGINE.getRounds(), state.getXPEarned());
+    }
+
+    /**
+     * Draws a random party of distinct knights, each with a random fortune, into the battle state.
+     *
+     * @return the size of the party
+     */
+    private int drawParty() {
+        List<Knight> roster = DATA.getKnights();
+        int partySize = Math.min(DATA.getMaxActive(), roster.size());
+
+        // Partial shuffle, the first partySize slots are the party.
+        for (int i = 0; i < partySize; ++i) {
+            int j = i + RANDOM.nextInt(rosterOrder.length - i);
+            int swap = rosterOrder[i];
+            rosterOrder[i] = rosterOrder[j];
+            rosterOrder[j] = swap;
+
+            state.addKnight(roster.get(rosterOrder[i]), DATA.getRandomFortune(RANDOM));
+        }
+        return partySize;
+    }
+
+    /**
+     * Runs a batch simulation and prints the results.<br>
+     * <br>
+     * <p>
+     *     Arguments are given as <code>--key=value</code>:
+     *     <ul>
+     *         <li><code>--trials</code> the number of battles (default: 100000)</li>
+     *         <li><code>--threads</code> the number of worker threads (default: 1)</li>
+     *         <li><code>--seed</code> the seed to reproduce a run (default: unseeded)</li>
+     *         <li><code>--data</code> the game data folder</li>
+     *         <li><code>--save</code> the save file for the roster, CSV or binary</li>
+     *     </ul>
+     * </p>
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        int trials = 100_000;
+        int threads = 1;
+        SplittableRandom random = new SplittableRandom();
+        String gameDataPath = "GameData/NormalData";
+        String saveDataPath = "SaveFiles/default.csv";
+
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length < 2) continue;
+
+            switch (option[0]) {
+                case "--trials":
+                    trials = Integer.parseInt(option[1]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(option[1]);
+                    break;
+                case "--seed":
+                    random = new SplittableRandom(Long.parseLong(option[1]));
+                    break;
+                case "--data":
+                    gameDataPath = option[1];
+                    break;
+                case "--save":
+                    saveDataPath = option[1];
+                    break;
+                default:
+                    System.err.println("Unknown option: " + option[0]);
+            }
+        }
+
+        GameData data = BinarySaveFormat.isBinary(saveDataPath)
+                ? new BinaryGameData(gameDataPath, saveDataPath, random.split())
+                : new CSVGameData(gameDataPath, saveDataPath, random.split());
+        if (data.getKnights().isEmpty()) {
+            System.err.println("No knights to simulate.");
+            return;
+        }
+
+        System.out.println(new MonteCarloRunner(data, threads, random.split()).run(trials));
+    }
+}
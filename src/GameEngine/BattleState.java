@@ -0,0 +1,215 @@
+package GameEngine;
+
+import GameObjects.Effects.Fortune;
+import GameObjects.MobileObjects.Knight;
+import GameObjects.MobileObjects.MOB;
+
+/**
+ * The state of a battle, stored as primitive arrays.<br>
+ * <br>
+ * <p>
+ *     Each side keeps the HP, armor, accuracy, damage die and damage modifier of its fighters in parallel arrays,<br>
+ *     along with the list of fighters still standing. Fighters are loaded from {@link Knight}s and {@link MOB}s,<br>
+ *     which are only read, so monster templates can be fought without copying them.
+ * </p>
+ * <p>
+ *     A state is reused between battles with {@link #clear()}, so battles in steady state allocate nothing.<br>
+ *     {@link #storeKnights()} and {@link #storeMonsters()} write the results back to the fighters, when they should be kept.
+ * </p>
+ *
+ * @see CombatEngine#doBattle(BattleState)
+ */
+public class BattleState {
+
+    /**
+     * One side of a battle.
+     */
+    static class Side {
+        final int[] hp; // The remaining HP of each fighter.
+        final int[] startHP; // The HP of each fighter when loaded.
+        final int[] armor;
+        final int[] accuracy;
+        final DiceType[] damageDie;
+        final int[] damageModifier;
+        final int[] xp; // The XP earned by each fighter.
+        final MOB[] source; // The objects the fighters were loaded from.
+
+        final int[] alive; // Slots of the fighters still standing, in turn order.
+        int aliveCount;
+        int size; // The number of loaded fighters.
+
+        Side(int capacity) {
+            hp = new int[capacity];
+            startHP = new int[capacity];
+            armor = new int[capacity];
+            accuracy = new int[capacity];
+            damageDie = new DiceType[capacity];
+            damageModifier = new int[capacity];
+            xp = new int[capacity];
+            source = new MOB[capacity];
+            alive = new int[capacity];
+        }
+
+        void add(MOB mob, int hp, int armor, int accuracy, DiceType damageDie, int damageModifier) {
+            if (size == source.length) {
+                throw new IllegalStateException("Battle side is full (" + size + " fighters).");
+            }
+            this.hp[size] = hp;
+            this.startHP[size] = hp;
+            this.armor[size] = armor;
+            this.accuracy[size] = accuracy;
+            this.damageDie[size] = damageDie;
+            this.damageModifier[size] = damageModifier;
+            this.xp[size] = 0;
+            this.source[size] = mob;
+            alive[aliveCount++] = size;
+            ++size;
+        }
+
+        /**
+         * Removes a fighter from the standing list, keeping turn order.
+         *
+         * @param slot the fighter's slot
+         */
+        void defeat(int slot) {
+            for (int i = 0; i < aliveCount; ++i) {
+                if (alive[i] == slot) {
+                    System.arraycopy(alive, i + 1, alive, i, aliveCount - i - 1);
+                    --aliveCount;
+                    return;
+                }
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < size; ++i) source[i] = null;
+            size = 0;
+            aliveCount = 0;
+        }
+    }
+
+    final Side knights;
+    final Side monsters;
+
+    /**
+     * Constructs an empty battle state.
+     *
+     * @param capacity the most fighters on each side
+     */
+    public BattleState(int capacity) {
+        knights = new Side(capacity);
+        monsters = new Side(capacity);
+    }
+
+    /**
+     * Removes every fighter, readying the state for a new battle.
+     */
+    public void clear() {
+        knights.clear();
+        monsters.clear();
+    }
+
+    /**
+     * Adds a knight with its current stats.
+     *
+     * @param knight the knight to load
+     */
+    public void addKnight(Knight knight) {
+        knights.add(knight, knight.getHP(), knight.getArmor(), knight.getAccuracy(),
+                knight.getDamageDie(), knight.getDamageModifier());
+    }
+
+    /**
+     * Adds a knight with a fortune, without giving the fortune to the knight.<br>
+     * <br>
+     * <p>
+     *     The fortune's modifiers are applied on top of the knight's current stats and effects,<br>
+     *     and its damage die replaces the knight's unless it is NONE.
+     * </p>
+     *
+     * @param knight  the knight to load
+     * @param fortune the fortune to apply
+     */
+    public void addKnight(Knight knight, Fortune fortune) {
+        DiceType fortuneDie = fortune.getDamageDie();
+
+        knights.add(knight,
+                knight.getHP() + fortune.getMaxHPModifier(),
+                knight.getArmor() + fortune.getArmorModifier(),
+                knight.getAccuracy() + fortune.getAccuracyModifier(),
+                (fortuneDie != DiceType.NONE) ? fortuneDie : knight.getDamageDie(),
+                knight.getDamageModifier() + fortune.getDamageModifier());
+    }
+
+    /**
+     * Adds a monster with its current stats.<br>
+     * <br>
+     * The monster is only read, so it may be a shared template.
+     *
+     * @param monster the monster to load
+     */
+    public void addMonster(MOB monster) {
+        monsters.add(monster, monster.getHP(), monster.getArmor(), monster.getAccuracy(),
+                monster.getDamageDie(), monster.getDamageModifier());
+    }
+
+    /**
+     * Gets the number of knights loaded.
+     *
+     * @return the knight count
+     */
+    public int getKnightCount() {
+        return knights.size;
+    }
+
+    /**
+     * Gets the number of knights still standing.
+     *
+     * @return the standing knight count
+     */
+    public int getStandingKnights() {
+        return knights.aliveCount;
+    }
+
+    /**
+     * Gets the number of monsters still standing.
+     *
+     * @return the standing monster count
+     */
+    public int getStandingMonsters() {
+        return monsters.aliveCount;
+    }
+
+    /**
+     * Gets the XP earned by all knights in the battle.
+     *
+     * @return the total XP
+     */
+    public int getXPEarned() {
+        int total = 0;
+        for (int i = 0; i < knights.size; ++i) total += knights.xp[i];
+        return total;
+    }
+
+    /**
+     * Writes the damage taken and XP earned back to the loaded knights.
+     */
+    public void storeKnights() {
+        for (int i = 0; i < knights.size; ++i) {
+            Knight knight = (Knight) knights.source[i];
+            knight.addDamage(knights.startHP[i] - knights.hp[i]);
+            knight.addXP(knights.xp[i]);
+        }
+    }
+
+    /**
+     * Writes the damage taken back to the loaded monsters.<br>
+     * <br>
+     * Must not be used when the monsters are shared templates.
+     */
+    public void storeMonsters() {
+        for (int i = 0; i < monsters.size; ++i) {
+            monsters.source[i].addDamage(monsters.startHP[i] - monsters.hp[i]);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package GameEngine;
+
+import GameObjects.Effects.Fortune;
+import GameObjects.MobileObjects.Knight;
+import GameObjects.MobileObjects.MOB;
+
+/**
+ * Calculates exact combat outcomes, without rolling any dice.<br>
+ * <br>
+ * <p>
+ *     An attack hits when <code>roll(D20) + accuracy > armor</code>, then deals a roll of the damage die plus<br>
+ *     the damage modifier (see {@link MOB#calculateAttack(DiceSet, MOB)}). Both rolls are uniform, so the damage of an attack<br>
+ *     has an exact probability mass function (PMF).
+ * </p>
+ * <p>
+ *     A one-on-one battle is a Markov chain over the HP of both fighters,<br>
+ *     which gives the exact chance of winning (see {@link #winProbability(MOB, MOB)}).
+ * </p>
+ */
+public class CombatAnalyzer {
+
+    private CombatAnalyzer() {}
+
+    /**
+     * Calculates the chance an attack hits.
+     *
+     * @param attacker the attacking MOB
+     * @param target   the target of the attack
+     * @return the hit chance, between 0 and 1
+     */
+    public static double hitChance(MOB attacker, MOB target) {
+        // The attack hits on any roll above `armor - accuracy`.
+        int missingRolls = Math.max(0, Math.min(20, target.getArmor() - attacker.getAccuracy()));
+        return (20 - missingRolls) / 20.0;
+    }
+
+    /**
+     * Calculates the PMF of the damage of a single attack.<br>
+     * <br>
+     * <p>
+     *     Index <code>i</code> holds the chance of dealing exactly <code>i</code> damage.<br>
+     *     Index 0 is the chance of dealing none, by missing or by a damage modifier cancelling the roll.
+     * </p>
+     *
+     * @param attacker the attacking MOB
+     * @param target   the target of the attack
+     * @return the damage PMF
+     */
+    public static double[] damageDistribution(MOB attacker, MOB target) {
+        int faceCount = attacker.getDamageDie().getFaces();
+        int modifier = attacker.getDamageModifier();
+        double hit = hitChance(attacker, target);
+        double[] pmf = new double[faceCount + Math.max(0, modifier) + 1];
+
+        pmf[0] = 1 - hit;
+        for (int roll = 1; roll <= faceCount; ++roll) {
+            pmf[Math.max(0, roll + modifier)] += hit / faceCount;
+        }
+        return pmf;
+    }
+
+    /**
+     * Calculates the average damage of a single attack.
+     *
+     * @param attacker the attacking MOB
+     * @param target   the target of the attack
+     * @return the expected damage
+     */
+    public static double expectedDamage(MOB attacker, MOB target) {
+        double[] pmf = damageDistribution(attacker, target);
+        double expected = 0;
+
+        for (int damage = 1; damage < pmf.length; ++damage) {
+            expected += damage * pmf[damage];
+        }
+        return expected;
+    }
+
+    /**
+     * Calculates the chance the first MOB wins a one-on-one battle.<br>
+     * <br>
+     * <p>
+     *     The fighters take turns attacking, the first MOB going first,<br>
+     *     until one has no HP left (see {@link CombatEngine#doBattle}).<br>
+     *     If neither can ever hit the other, the battle never ends and counts as a loss.<br>
+     *     Both use their current HP and effects, such as a knight's active fortune.
+     * </p>
+     *
+     * @param first  the MOB which attacks first
+     * @param second the MOB which attacks second
+     * @return the chance the first MOB wins
+     */
+    public static double winProbability(MOB first, MOB second) {
+        double[] firstDamage = damageDistribution(first, second);
+        double[] secondDamage = damageDistribution(second, first);
+        int firstHP = first.getHP();
+        int secondHP = second.getHP();
+
+        if (secondHP <= 0) return 1;
+        if (firstHP <= 0) return 0;
+
+        // A cycle where both miss loops back to the same state, so only the rest leave it.
+        double leaveChance = 1 - firstDamage[0] * secondDamage[0];
+        if (leaveChance <= 0) return 0;
+
+        // wins[a][b] is the chance of winning from the start of a cycle with HPs a and b.
+        double[][] wins = new double[firstHP + 1][secondHP + 1];
+
+        for (int b = 1; b <= secondHP; ++b) {
+            for (int a = 1; a <= firstHP; ++a) {
+                double win = 0;
+
+                for (int hit = 0; hit < firstDamage.length; ++hit) {
+                    if (firstDamage[hit] == 0) continue;
+
+                    int remaining = b - hit;
+                    if (remaining <= 0) {
+                        win += firstDamage[hit];
+                        continue;
+                    }
+
+                    double counter = 0;
+                    for (int taken = 0; taken < secondDamage.length; ++taken) {
+                        if (hit == 0 && taken == 0) continue; // The self-loop, solved below.
+                        if (a - taken > 0) {
+                            counter += secondDamage[taken] * wins[a - taken][remaining];
+                        }
+                    }
+                    win += firstDamage[hit] * counter;
+                }
+                wins[a][b] = win / leaveChance;
+            }
+        }
+        return wins[firstHP][secondHP];
+    }
+
+    public static void main(String[] args) {
+        Knight knight = new Knight(1, "Lancelot", 40, 16, 2, DiceType.D8, 0);
+        MOB orc = new MOB("Orc", 50, 14, 1, DiceType.D6);
+
+        System.out.println("Hit chance (knight -> orc): " + hitChance(knight, orc));
+        System.out.println("Expected damage (knight -> orc): " + expectedDamage(knight, orc));
+        System.out.println("Win chance: " + winProbability(knight, orc));
+
+        // Compare to sampled battles.
+        DiceSet dice = new DiceSet();
+        int trials = 100_000;
+        int wins = 0;
+        for (int i = 0; i < trials; ++i) {
+            knight.resetDamage();
+            orc.resetDamage();
+            while (true) {
+                orc.addDamage(knight.calculateAttack(dice, orc));
+                if (orc.getHP() <= 0) {
+                    ++wins;
+                    break;
+                }
+                knight.addDamage(orc.calculateAttack(dice, knight));
+                if (knight.getHP() <= 0) break;
+            }
+        }
+        System.out.println("Sampled win chance: " + (double) wins / trials);
+
+        knight.resetDamage();
+        orc.resetDamage();
+        knight.setActiveFortune(new Fortune("Curse of Horus", -5, -4, -2, 0, DiceType.NONE));
+        System.out.println("Win chance (Curse of Horus): " + winProbability(knight, orc));
+    }
+}
@@ -8,6 +8,7 @@ import IO.*;
 import java.util.ArrayList;
 import java.util.Random;
 import java.util.List;
+import java.util.random.RandomGenerator;
 
 /**
  * Handles a simple combat system.<br>
@@ -29,10 +30,14 @@ public class CombatEngine {
     private final GameView IO; // The IO system.
 
     private final DiceSet DICE_SET; // Allows a die to be rolled.
-    private final Random RANDOM;
+    private final RandomGenerator RANDOM;
 
     private final int DEATH_XP; // The amount of xp granted for killing a monster.
 
+    private final ArrayList<Knight> questers; // The party at the start of the quest, reset by clear().
+
+    private int rounds; // The number of cycles in the most recent battle.
+
     /**
      * Constructs the combat engine.
      *
@@ -40,19 +45,34 @@ public class CombatEngine {
      * @param io player IO accessor.
      */
     public CombatEngine(GameData data, GameView io) {
+        this(data, io, new Random());
+    }
+
+    /**
+     * Constructs the combat engine, with dice and targeting drawn from the given random source.
+     *
+     * @param data game data.
+     * @param io player IO accessor.
+     * @param random the source of dice rolls and targets.
+     */
+    public CombatEngine(GameData data, GameView io, RandomGenerator random) {
         DATA = data;
         IO = io;
 
-        RANDOM = new Random();
-        DICE_SET = new DiceSet();
+        RANDOM = random;
+        DICE_SET = new DiceSet(random);
 
         DEATH_XP = 1;
+
+        questers = new ArrayList<>(data.getMaxActive());
     }
 
     /**
      * Assigns fortunes for active knights.
      */
     public void initialize() {
+        questers.clear();
+        questers.addAll(DATA.getActiveKnights());
         for (Knight k : DATA.getActiveKnights()) {
             k.setActiveFortune(DATA.getRandomFortune());
         }
@@ -60,35 +80,68 @@ public class CombatEngine {
     }
 
     /**
-     * Runs a quest.
+     * Runs a quest.<br>
+     * <br>
+     * <p>
+     *     Encounters reuse one list, and their monsters are recycled through the game data's pool.<br>
+     *     Each battle is fought on a reused {@link BattleState} (see {@link #doBattle(BattleState)}).<br>
+     *     Knights and monsters are only touched at its boundaries: their stats are loaded before the battle,<br>
+     *     then their damage and XP are stored, and the defeated are removed from the party and encounter.<br>
+     *     After each battle, the XP of every knight who fought is journaled (see {@link GameData#journalXP}).
+     * </p>
      */
     public void runCombat() {
         ArrayList<Knight> party = (ArrayList<Knight>) DATA.getActiveKnights();
-        ArrayList<MOB> monsters;
+        ArrayList<Knight> fighters = new ArrayList<>(party.size()); // The party at the start of each battle.
+        ArrayList<MOB> monsters = new ArrayList<>(DATA.getMaxActive()); // Reused for every encounter.
+        BattleState state = new BattleState(DATA.getMaxActive()); // Reused for every battle.
 
         boolean hasLost;
         do {
-            monsters = (ArrayList<MOB>) DATA.getRandomMonsters();
-            hasLost = doBattle(party, monsters);
+            DATA.refillEncounter(monsters);
+            fighters.clear();
+            fighters.addAll(party);
+
+            IO.printBattleText(monsters, party);
+            state.clear();
+            for (Knight knight : party) state.addKnight(knight);
+            for (MOB monster : monsters) state.addMonster(monster);
+
+            hasLost = doBattle(state);
+
+            state.storeKnights();
+            state.storeMonsters();
+            party.removeIf(knight -> knight.getHP() <= 0);
+            monsters.removeIf(monster -> monster.getHP() <= 0);
+            DATA.journalXP(fighters);
             if (hasLost) {
                 IO.printDefeated();
                 break;
             }
         } while (IO.checkContinue());
+
+        DATA.recycleMonsters();
     }
 
     /**
-     * Iterates through all character's turns.
+     * Iterates through all character's turns.<br>
+     * <br>
+     * <p>
+     *     Defeated knights and monsters are removed from their lists.
+     * </p>
      *
      * @param knights the player's active party.
      * @param monsters the enemies of the encounter.
      * @return true if the party has been defeated, else false.
+     * @see #getRounds()
      */
-    private boolean doBattle(ArrayList<Knight> knights, ArrayList<MOB> monsters) {
+    public boolean doBattle(ArrayList<Knight> knights, ArrayList<MOB> monsters) {
         IO.printBattleText(monsters, knights);
 
         int xpReward;
+        rounds = 0;
         while (true) {
+            ++rounds;
             // Knight turns
             for (Knight k : knights) {
                 if (monsters.isEmpty()) return false;
@@ -106,6 +159,53 @@ public class CombatEngine {
         }
     }
 
+    /**
+     * Iterates through all character's turns, on a primitive battle state.<br>
+     * <br>
+     * <p>
+     *     Follows the same rules and rolls as {@link #doBattle(ArrayList, ArrayList)}, without allocating.<br>
+     *     Only defeats are displayed, as the battle members are not kept in lists.
+     * </p>
+     *
+     * @param state the loaded knights and monsters.
+     * @return true if the party has been defeated, else false.
+     * @see #getRounds()
+     */
+    public boolean doBattle(BattleState state) {
+        BattleState.Side knights = state.knights;
+        BattleState.Side monsters = state.monsters;
+
+        int xpReward;
+        rounds = 0;
+        while (true) {
+            ++rounds;
+            // Knight turns
+            for (int i = 0; i < knights.aliveCount; ++i) {
+                if (monsters.aliveCount == 0) return false;
+
+                xpReward = doTurn(knights, knights.alive[i], monsters);
+                if (xpReward > 0) {
+                    for (int k = 0; k < knights.aliveCount; ++k) knights.xp[knights.alive[k]] += xpReward;
+                }
+            }
+            // Monster turns
+            for (int i = 0; i < monsters.aliveCount; ++i) {
+                if (knights.aliveCount == 0) return true;
+
+                doTurn(monsters, monsters.alive[i], knights);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cycles the most recent battle lasted.
+     *
+     * @return the round count.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
     /**
      * Runs one MOB's turn.
      *
@@ -130,6 +230,34 @@ public class CombatEngine {
         return 0;
     }
 
+    /**
+     * Runs one fighter's turn, on a primitive battle state.
+     *
+     * @param attackers the attacker's side
+     * @param attacker the attacker's slot
+     * @param defenders the opposition
+     * @return xp from a defeat
+     */
+    private int doTurn(BattleState.Side attackers, int attacker, BattleState.Side defenders) {
+        // Random Attack, rolled in the same order as MOB#calculateAttack.
+        int target = defenders.alive[RANDOM.nextInt(defenders.aliveCount)];
+        boolean hit = attackers.accuracy[attacker] + DICE_SET.roll(DiceType.D20) > defenders.armor[target];
+        int damage = (hit) ? Math.max(0, DICE_SET.roll(attackers.damageDie[attacker]) + attackers.damageModifier[attacker]) : 0;
+
+        int hp = Math.max(0, defenders.hp[target] - damage);
+        defenders.hp[target] = hp;
+
+        if (hp <= 0) {
+            defenders.defeat(target);
+            IO.printBattleText(defenders.source[target]);
+
+            if (!(defenders.source[target] instanceof Knight)) {
+                return DEATH_XP;
+            }
+        }
+        return 0;
+    }
+
     /**
      * Selects a target for the attack.
      *
@@ -141,15 +269,17 @@ public class CombatEngine {
     }
 
     /**
-     * Resets the knights.
+     * Resets the knights who set out on the quest, including the defeated.
      *
      * Removes their fortunes and resets their health.
+     * Only they can have changed, so the rest of the roster is left untouched.
      */
     public void clear() {
-        for (Knight k : DATA.getKnights()) {
+        for (Knight k : questers) {
             k.setActiveFortune(new Fortune()); // Equivalent of removing fortune.
             k.resetDamage();
         }
+        questers.clear();
     }
 
     public static void main(String[] args) {
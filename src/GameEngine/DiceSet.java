@@ -1,45 +1,96 @@
 package GameEngine;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 /**
  * Handles rolling dice.
  *
  * @see #roll(DiceType)
+ * @see #rollMany(DiceType, int[])
+ * @see #rollSum(DiceType, int)
  */
 public class DiceSet {
-    private final static Random RANDOM = new Random();
+    private final RandomGenerator RANDOM;
+
+    /**
+     * Constructs a dice set with its own random source.
+     */
+    public DiceSet() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a dice set rolling from the given random source.<br>
+     * <br>
+     * <p>
+     *     Give each thread its own source, so rolls do not contend on a shared seed.
+     * </p>
+     *
+     * @param random the source of rolls
+     */
+    public DiceSet(RandomGenerator random) {
+        RANDOM = random;
+    }
 
     /**
      * Rolls a dice.<br>
      * <br>
      * <p>
-     *     Uses {@link java.util.Random} to determine the result of a die-roll.<br>
-     *     Gives a random value between 1 and the face-count (inclusive).
+     *     Uses the dice set's random source to determine the result of a die-roll.<br>
+     *     Gives a random value between 1 and the face-count (inclusive).<br>
+     *     NONE has a single face, so always rolls 1.
      * </p>
      *
      * @param diceType type of dice to roll
      * @return the roll's value
+     * @see DiceType#getFaces()
      */
     public int roll(DiceType diceType) {
-        int faceCount = 1;
-        switch (diceType) {
-            case D4: faceCount = 4;
-                break;
-            case D6: faceCount = 6;
-                break;
-            case D8: faceCount = 8;
-                break;
-            case D10: faceCount = 10;
-                break;
-            case D12: faceCount = 12;
-                break;
-            case D20: faceCount = 20;
-                break;
-            case NONE: System.err.println("Dice.roll() called with NONE DiceType.");
-                break;
+        return RANDOM.nextInt(diceType.getFaces()) + 1;
+    }
+
+    /**
+     * Rolls a die once for each slot of an array.
+     *
+     * @param diceType type of dice to roll
+     * @param out      the array to fill with rolls
+     */
+    public void rollMany(DiceType diceType, int[] out) {
+        int faceCount = diceType.getFaces();
+
+        for (int i = 0; i < out.length; ++i) {
+            out[i] = RANDOM.nextInt(faceCount) + 1;
         }
-        return RANDOM.nextInt(faceCount) + 1;
+    }
+
+    /**
+     * Rolls a number of dice and adds them together (e.g. 3D6).
+     *
+     * @param diceType type of dice to roll
+     * @param count    the number of dice
+     * @return the sum of the rolls
+     */
+    public int rollSum(DiceType diceType, int count) {
+        int faceCount = diceType.getFaces();
+        int sum = count;
+
+        for (int i = 0; i < count; ++i) {
+            sum += RANDOM.nextInt(faceCount);
+        }
+        return sum;
+    }
+
+    /**
+     * Gets an endless stream of rolls.
+     *
+     * @param diceType type of dice to roll
+     * @return a stream of roll values
+     */
+    public IntStream rolls(DiceType diceType) {
+        return RANDOM.ints(1, diceType.getFaces() + 1);
     }
 
     public static void main(String[] args) {
@@ -52,5 +103,11 @@ public class DiceSet {
         System.out.println("TESTING DiceSet (D12): " + dice.roll(DiceType.D12));
         System.out.println("TESTING DiceSet (D20): " + dice.roll(DiceType.D20));
         System.out.println("TESTING DiceSet (NONE): " + dice.roll(DiceType.NONE));
+
+        int[] rolls = new int[10];
+        dice.rollMany(DiceType.D6, rolls);
+        System.out.println("TESTING DiceSet.rollMany (10 D6): " + Arrays.toString(rolls));
+        System.out.println("TESTING DiceSet.rollSum (3 D6): " + dice.rollSum(DiceType.D6, 3));
+        System.out.println("TESTING DiceSet.rolls (5 D20): " + Arrays.toString(dice.rolls(DiceType.D20).limit(5).toArray()));
     }
 }
@@ -4,7 +4,24 @@ package GameEngine;
  * Enumerates the possible types of dice (i.e. faces on die).
  */
 public enum DiceType {
-    D4, D6, D8, D10, D12, D20, NONE;
+    D4(4), D6(6), D8(8), D10(10), D12(12), D20(20), NONE(1);
+
+    private final int faces; // The number of faces on the die.
+
+    DiceType(int faces) {
+        this.faces = faces;
+    }
+
+    /**
+     * Gets the number of faces on the die.<br>
+     * <br>
+     * NONE has a single face, so always rolls 1.
+     *
+     * @return the face count
+     */
+    public int getFaces() {
+        return faces;
+    }
 
     /**
      * The name of the dice type. If NONE, returns `-`.
@@ -34,5 +51,6 @@ public enum DiceType {
         System.out.println(" D12: " + D12);
         System.out.println(" D20: " + D20);
         System.out.println("NONE: " + NONE);
+        System.out.println(" D20 faces: " + D20.getFaces());
     }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package GameEngine;
+
+import GameObjects.MobileObjects.Knight;
+import GameObjects.MobileObjects.MOB;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Builds encounters which match the strength of the party.<br>
+ * <br>
+ * <p>
+ *     Every monster template is scored once, against a reference knight (see {@link #difficultyOf(MOB)}),<br>
+ *     and the templates are kept sorted by score. A party's strength is scored in the same units<br>
+ *     (see {@link #targetDifficulty(List)}), and an encounter's monsters are drawn from the templates<br>
+ *     whose scores lie near their share of it, found by binary search.<br>
+ *     Spawn weights still apply within that range, so each monster takes <code>O(log n)</code>.
+ * </p>
+ *
+ * @see CombatAnalyzer
+ */
+public class EncounterGenerator {
+    public static final double DIFFICULTY_RATIO = 0.5; // The share of the party's strength an encounter should take.
+    private static final double TOLERANCE = 0.25; // How far from its target a monster's difficulty may be.
+
+    private final MOB REFERENCE; // The knight difficulties are measured against.
+    private final double REFERENCE_SELF_DAMAGE; // The reference's expected damage against itself.
+
+    private final MOB[] templates; // Sorted by difficulty.
+    private final double[] difficulty; // The difficulty of each template, ascending.
+    private final long[] cumulativeWeight; // cumulativeWeight[i] is the total weight of templates before i.
+
+    /**
+     * Builds a generator over monster templates, measured against an average knight.
+     *
+     * @param templates the monster templates
+     * @param weights   the spawn weight of each template, in the same order
+     */
+    public EncounterGenerator(List<MOB> templates, int[] weights) {
+        this(templates, weights, new MOB("Reference Knight", 31, 13, 1, DiceType.D8));
+    }
+
+    /**
+     * Builds a generator over monster templates, measured against the given knight.
+     *
+     * @param templates the monster templates
+     * @param weights   the spawn weight of each template, in the same order
+     * @param reference the knight to measure difficulty against
+     */
+    public EncounterGenerator(List<MOB> templates, int[] weights, MOB reference) {
+        if (weights.length != templates.size()) {
+            throw new IllegalArgumentException("Expected " + templates.size() + " weights, got " + weights.length + ".");
+        }
+        REFERENCE = reference;
+        REFERENCE_SELF_DAMAGE = CombatAnalyzer.expectedDamage(reference, reference);
+
+        int n = templates.size();
+        double[] scores = new double[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; ++i) {
+            scores[i] = difficultyOf(templates.get(i));
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> scores[i]));
+
+        this.templates = new MOB[n];
+        this.difficulty = new double[n];
+        this.cumulativeWeight = new long[n + 1];
+        for (int i = 0; i < n; ++i) {
+            this.templates[i] = templates.get(order[i]);
+            this.difficulty[i] = scores[order[i]];
+            this.cumulativeWeight[i + 1] = cumulativeWeight[i] + weights[order[i]];
+        }
+    }
+
+    /**
+     * Scores how dangerous a monster is.<br>
+     * <br>
+     * <p>
+     *     The score is the damage the monster is expected to deal to the reference knight<br>
+     *     before the knight defeats it: its expected damage per attack, times the attacks it survives.<br>
+     *     A monster the reference cannot hurt scores {@link Double#MAX_VALUE}.
+     * </p>
+     *
+     * @param monster the monster
+     * @return the monster's difficulty
+     */
+    public double difficultyOf(MOB monster) {
+        double taken = CombatAnalyzer.expectedDamage(REFERENCE, monster);
+        if (taken <= 0) return Double.MAX_VALUE;
+
+        return CombatAnalyzer.expectedDamage(monster, REFERENCE) * monster.getHP() / taken;
+    }
+
+    /**
+     * Scores the encounter difficulty a party should face.<br>
+     * <br>
+     * <p>
+     *     Each knight contributes its current HP, scaled by how fast it defeats monsters compared to the reference knight,<br>
+     *     as faster knights take fewer hits. The party's total, times {@link #DIFFICULTY_RATIO}, is the target.
+     * </p>
+     *
+     * @param party the knights who will fight
+     * @return the target difficulty
+     */
+    public double targetDifficulty(List<? extends Knight> party) {
+        double strength = 0;
+        for (Knight knight : party) {
+            strength += knight.getHP() * CombatAnalyzer.expectedDamage(knight, REFERENCE) / REFERENCE_SELF_DAMAGE;
+        }
+        return strength * DIFFICULTY_RATIO;
+    }
+
+    /**
+     * Draws an encounter whose total difficulty is near the target.<br>
+     * <br>
+     * Each monster aims for an even share of the difficulty left after those drawn before it.
+     *
+     * @param size     the number of monsters
+     * @param target   the total difficulty to aim for
+     * @param random   the source to draw from
+     * @param consumer receives each monster template, which is shared and must not be modified
+     */
+    public void generate(int size, double target, RandomGenerator random, Consumer<MOB> consumer) {
+        double remaining = target;
+
+        for (int i = 0; i < size; ++i) {
+            int slot = drawSlot(Math.max(0, remaining) / (size - i), random);
+            remaining -= difficulty[slot];
+            consumer.accept(templates[slot]);
+        }
+    }
+
+    /**
+     * Draws a monster template with difficulty near the target, by spawn weight.<br>
+     * <br>
+     * If no template is within {@link #TOLERANCE} of the target, the range widens to the nearest ones.
+     *
+     * @param target the difficulty to aim for
+     * @param random the source to draw from
+     * @return the template, which is shared and must not be modified
+     * @throws IllegalStateException if there are no templates which can spawn
+     */
+    public MOB draw(double target, RandomGenerator random) {
+        return templates[drawSlot(target, random)];
+    }
+
+    /**
+     * Draws the sorted position of a template with difficulty near the target.
+     */
+    private int drawSlot(double target, RandomGenerator random) {
+        int n = templates.length;
+        if (cumulativeWeight[n] == 0) throw new IllegalStateException("No monsters can spawn.");
+
+        int low = lowerBound(target * (1 - TOLERANCE));
+        int high = lowerBound(Math.nextUp(target * (1 + TOLERANCE)));
+
+        // Widen to the nearest templates until something can spawn.
+        while (cumulativeWeight[high] == cumulativeWeight[low]) {
+            boolean lowerIsCloser = high == n
+                    || (low > 0 && target - difficulty[low - 1] <= difficulty[high] - target);
+            if (lowerIsCloser) --low;
+            else ++high;
+        }
+
+        long pick = cumulativeWeight[low] + random.nextLong(cumulativeWeight[high] - cumulativeWeight[low]);
+        return upperBound(pick) - 1;
+    }
+
+    /**
+     * Finds the first template with at least the given difficulty.
+     */
+    private int lowerBound(double value) {
+        int low = 0;
+        int high = difficulty.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (difficulty[middle] < value) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Finds the first template whose cumulative weight is above the given pick.
+     */
+    private int upperBound(long pick) {
+        int low = 0;
+        int high = cumulativeWeight.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeight[middle] <= pick) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    public static void main(String[] args) {
+        SplittableRandom random = new SplittableRandom(11);
+        DiceType[] dice = {DiceType.D4, DiceType.D6, DiceType.D8, DiceType.D10, DiceType.D12, DiceType.D20};
+
+        ArrayList<MOB> bestiary = new ArrayList<>();
+        int[] weights = new int[50_000];
+        for (int i = 0; i < weights.length; ++i) {
+            bestiary.add(new MOB("Monster " + i, 10 + random.nextInt(150), 8 + random.nextInt(12),
+                    random.nextInt(-1, 5), dice[random.nextInt(dice.length)]));
+            weights[i] = 1 + random.nextInt(10);
+        }
+
+        long start = System.nanoTime();
+        EncounterGenerator generator = new EncounterGenerator(bestiary, weights);
+        System.out.printf("Built over %d templates in %.1f ms%n", bestiary.size(), (System.nanoTime() - start) / 1e6);
+
+        List<Knight> weak = List.of(new Knight(1, "Squire", 20, 10, 0, DiceType.D4, 0),
+                new Knight(2, "Page", 18, 11, 0, DiceType.D4, 0));
+        List<Knight> strong = List.of(new Knight(3, "Lancelot", 45, 17, 3, DiceType.D10, 0),
+                new Knight(4, "Gawain", 40, 16, 2, DiceType.D12, 0),
+                new Knight(5, "Percival", 42, 15, 2, DiceType.D8, 0),
+                new Knight(6, "Galahad", 50, 17, 3, DiceType.D10, 0));
+
+        for (List<Knight> party : List.of(weak, strong)) {
+            double target = generator.targetDifficulty(party);
+            double[] total = new double[1];
+            int encounters = 100_000;
+
+            start = System.nanoTime();
+            for (int i = 0; i < encounters; ++i) {
+                generator.generate(party.size(), target, random, monster -> total[0] += generator.difficultyOf(monster));
+            }
+            System.out.printf("Party of %d: target %.1f, average encounter %.1f, %.2f us per encounter%n",
+                    party.size(), target, total[0] / encounters, (System.nanoTime() - start) / 1e3 / encounters);
+        }
+    }
+}
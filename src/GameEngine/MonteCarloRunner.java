@@ -0,0 +1,110 @@
+package GameEngine;
+
+import IO.GameData;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs simulated battles in parallel.<br>
+ * <br>
+ * <p>
+ *     Trials are split across a {@link ForkJoinPool} in batches of {@link #BATCH_SIZE}.<br>
+ *     Each batch gets its own {@link BattleSimulator} with a random stream split from the runner's,<br>
+ *     so workers never contend on a shared seed. Their tallies are merged once all batches finish.
+ * </p>
+ * <p>
+ *     The split tree depends only on the trial count, so a seeded runner gives the same tally<br>
+ *     regardless of the number of threads.
+ * </p>
+ *
+ * @see BattleSimulator
+ */
+public class MonteCarloRunner {
+    public static final int BATCH_SIZE = 10_000; // The most trials a single worker runs at once.
+
+    private final GameData DATA; // The data for the game.
+    private final int THREADS; // The parallelism of the pool.
+    private final SplittableRandom RANDOM; // The root of every batch's stream.
+
+    /**
+     * Constructs a runner over the given game data.
+     *
+     * @param data    game data.
+     * @param threads the number of worker threads.
+     */
+    public MonteCarloRunner(GameData data, int threads) {
+        this(data, threads, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a runner over the given game data, splitting batch streams from the given source.
+     *
+     * @param data    game data.
+     * @param threads the number of worker threads.
+     * @param random  the root random source.
+     */
+    public MonteCarloRunner(GameData data, int threads, SplittableRandom random) {
+        DATA = data;
+        THREADS = threads;
+        RANDOM = random;
+    }
+
+    /**
+     * Simulates a number of battles across the worker threads.<br>
+     * <br>
+     * <p>
+     *     Each run splits a fresh stream from the root, so repeated runs are independent.
+     * </p>
+     *
+     * @param trials the number of battles to fight
+     * @return the merged tally of the results, timed by wall-clock
+     */
+    public SimulationStats run(int trials) {
+        ForkJoinPool pool = new ForkJoinPool(THREADS);
+        long start = System.nanoTime();
+
+        try {
+            SimulationStats stats = pool.invoke(new Batch(trials, RANDOM.split()));
+            stats.addElapsed(System.nanoTime() - start);
+            return stats;
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A range of trials, split in half until it fits in one batch.
+     */
+    private class Batch extends RecursiveTask<SimulationStats> {
+        private static final long serialVersionUID = 1L;
+
+        private final int trials;
+        private final SplittableRandom random;
+
+        private Batch(int trials, SplittableRandom random) {
+            this.trials = trials;
+            this.random = random;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (trials <= BATCH_SIZE) {
+                SimulationStats stats = new SimulationStats();
+                new BattleSimulator(DATA, random).run(trials, stats);
+                return stats;
+            }
+
+            int half = trials / 2;
+            Batch left = new Batch(half, random.split());
+            Batch right = new Batch(trials - half, random);
+
+            left.fork();
+            SimulationStats stats = right.compute();
+            stats.merge(left.join());
+            return stats;
+        }
+    }
+}
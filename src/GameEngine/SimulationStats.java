@@ -0,0 +1,128 @@
+package GameEngine;
+
+/**
+ * Tallies the results of simulated battles.<br>
+ * <br>
+ * <p>
+ *     Records the number of battles, wins, rounds fought and XP earned,<br>
+ *     as well as the time spent simulating.
+ * </p>
+ *
+ * @see BattleSimulator
+ */
+public class SimulationStats {
+    private long battles; // The number of battles fought.
+    private long wins; // The number of battles the party won.
+    private long rounds; // The total cycles across all battles.
+    private long xp; // The total XP earned by all knights.
+    private long elapsedNanos; // The time spent simulating.
+
+    /**
+     * Constructs an empty tally.
+     */
+    public SimulationStats() {}
+
+    /**
+     * Records the result of a battle.
+     *
+     * @param won    whether the party won
+     * @param rounds the number of cycles the battle lasted
+     * @param xp     the XP earned by the party
+     */
+    public void record(boolean won, int rounds, int xp) {
+        ++battles;
+        if (won) ++wins;
+        this.rounds += rounds;
+        this.xp += xp;
+    }
+
+    /**
+     * Adds to the time spent simulating.
+     *
+     * @param nanos the time in nanoseconds
+     */
+    public void addElapsed(long nanos) {
+        elapsedNanos += nanos;
+    }
+
+    /**
+     * Adds another tally's results into this one.
+     *
+     * @param other the tally to add
+     */
+    public void merge(SimulationStats other) {
+        battles += other.battles;
+        wins += other.wins;
+        rounds += other.rounds;
+        xp += other.xp;
+        elapsedNanos += other.elapsedNanos;
+    }
+
+    /**
+     * Gets the number of battles fought.
+     *
+     * @return the battle count
+     */
+    public long getBattles() {
+        return battles;
+    }
+
+    /**
+     * Gets the number of battles won.
+     *
+     * @return the win count
+     */
+    public long getWins() {
+        return wins;
+    }
+
+    /**
+     * Gets the fraction of battles won.
+     *
+     * @return the win rate, between 0 and 1
+     */
+    public double getWinRate() {
+        return (battles > 0) ? (double) wins / battles : 0;
+    }
+
+    /**
+     * Gets the average number of cycles per battle.
+     *
+     * @return the average rounds
+     */
+    public double getAverageRounds() {
+        return (battles > 0) ? (double) rounds / battles : 0;
+    }
+
+    /**
+     * Gets the total XP earned.
+     *
+     * @return the XP earned
+     */
+    public long getXP() {
+        return xp;
+    }
+
+    /**
+     * Gets the XP earned per second of simulation.
+     *
+     * @return the XP rate
+     */
+    public double getXPPerSecond() {
+        return (elapsedNanos > 0) ? xp / (elapsedNanos / 1e9) : 0;
+    }
+
+    /**
+     * Creates a report of the tally.
+     *
+     * @return a string of the report
+     */
+    @Override
+    public String toString() {
+        return String.format("Battles:        %d%n", battles) +
+                String.format("Win rate:       %.4f%n", getWinRate()) +
+                String.format("Average rounds: %.2f%n", getAverageRounds()) +
+                String.format("XP earned:      %d%n", xp) +
+                String.format("XP per second:  %.0f", getXPPerSecond());
+    }
+}
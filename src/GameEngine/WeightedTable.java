@@ -0,0 +1,125 @@
+package GameEngine;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * A table of items drawn at random by weight, in constant time.<br>
+ * <br>
+ * <p>
+ *     Built with Vose's alias method: each of the <code>n</code> slots holds an item and an alias,<br>
+ *     and a draw picks a slot uniformly, then keeps the item or takes its alias with the slot's probability.<br>
+ *     Building takes <code>O(n)</code>, and each draw takes two random numbers, however skewed the weights.
+ * </p>
+ * <p>
+ *     When every weight is equal, a draw takes a single random number, exactly as {@code items.get(random.nextInt(n))}.
+ * </p>
+ *
+ * @param <T> the type of item
+ */
+public class WeightedTable<T> {
+    private final Object[] items;
+    private final double[] probability; // The chance of keeping each slot's own item.
+    private final int[] alias; // The item taken otherwise.
+    private final boolean uniform; // Whether every weight is equal.
+
+    /**
+     * Builds a table of items with the given weights.
+     *
+     * @param items   the items
+     * @param weights the weight of each item, in the same order
+     * @throws IllegalArgumentException if a weight is negative, the counts differ, or every weight is 0
+     */
+    public WeightedTable(List<? extends T> items, int[] weights) {
+        int n = items.size();
+        if (weights.length != n) {
+            throw new IllegalArgumentException("Expected " + n + " weights, got " + weights.length + ".");
+        }
+
+        this.items = items.toArray();
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        long total = 0;
+        boolean uniform = true;
+        for (int i = 0; i < n; ++i) {
+            if (weights[i] < 0) throw new IllegalArgumentException("Negative weight: " + weights[i]);
+            total += weights[i];
+            uniform &= weights[i] == weights[0];
+        }
+        if (n > 0 && total == 0) throw new IllegalArgumentException("Every weight is 0.");
+        this.uniform = uniform;
+
+        // Scale so the average slot holds exactly 1, then pair each light slot with a heavy one.
+        double[] scaled = new double[n];
+        ArrayDeque<Integer> light = new ArrayDeque<>();
+        ArrayDeque<Integer> heavy = new ArrayDeque<>();
+        for (int i = 0; i < n; ++i) {
+            scaled[i] = (double) weights[i] * n / total;
+            if (scaled[i] < 1) light.push(i);
+            else heavy.push(i);
+        }
+
+        while (!light.isEmpty() && !heavy.isEmpty()) {
+            int less = light.pop();
+            int more = heavy.pop();
+
+            probability[less] = scaled[less];
+            alias[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) light.push(more);
+            else heavy.push(more);
+        }
+
+        // Whatever remains is 1, up to rounding.
+        while (!heavy.isEmpty()) probability[heavy.pop()] = 1;
+        while (!light.isEmpty()) probability[light.pop()] = 1;
+    }
+
+    /**
+     * Gets the number of items.
+     *
+     * @return the item count
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Draws a random item by weight.
+     *
+     * @param random the source to draw from
+     * @return the item
+     * @throws IllegalStateException if the table is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T draw(RandomGenerator random) {
+        if (items.length == 0) throw new IllegalStateException("Cannot draw from an empty table.");
+
+        int slot = random.nextInt(items.length);
+        if (uniform || random.nextDouble() < probability[slot]) {
+            return (T) items[slot];
+        }
+        return (T) items[alias[slot]];
+    }
+
+    public static void main(String[] args) {
+        List<String> rarities = List.of("Common", "Uncommon", "Rare", "Legendary", "Never");
+        int[] weights = {600, 300, 90, 10, 0};
+        WeightedTable<String> table = new WeightedTable<>(rarities, weights);
+
+        Random random = new Random(7);
+        int draws = 1_000_000;
+        int[] counts = new int[rarities.size()];
+        for (int i = 0; i < draws; ++i) {
+            ++counts[rarities.indexOf(table.draw(random))];
+        }
+
+        for (int i = 0; i < rarities.size(); ++i) {
+            System.out.printf("%-10s expected %.4f, drawn %.4f%n", rarities.get(i), weights[i] / 1000.0, (double) counts[i] / draws);
+        }
+    }
+}
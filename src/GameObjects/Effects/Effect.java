@@ -24,6 +24,9 @@ import GameObjects.MobileObjects.Attributes;
  *         <li> A damage modifier. <br>
  *             {@link #getDamageModifier()}
  *         </li>
+ *         <li> A replacement damage die. <br>
+ *             {@link #getDamageDie()}
+ *         </li>
  *         <li> A card describing the object's status effects. <br>
  *             {@link #toString()}
  *         </li>
@@ -97,6 +100,18 @@ public interface Effect {
      */
     int getDamageModifier();
 
+    /**
+     * Gets the die which replaces the damage die of the affected object.<br>
+     * <br>
+     * <p>
+     *     {@link DiceType#NONE} leaves the damage die unchanged.
+     * </p>
+     *
+     * @return the replacement damage die
+     * @see Attributes#getDamageDie()
+     */
+    DiceType getDamageDie();
+
     /**
      * Gets a card displaying the effect's stats.
      *
@@ -0,0 +1,196 @@
+package GameObjects.Effects;
+
+import GameEngine.DiceType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A set of concurrent effects, acting as one combined effect.<br>
+ * <br>
+ * <p>
+ *     The modifiers of every effect are added together whenever an effect is added or removed,<br>
+ *     so reading the combined modifiers never iterates the effects.<br>
+ *     The damage die is taken from the most recently added effect which has one.
+ * </p>
+ *
+ * @see Effect
+ */
+public class EffectStack implements Effect {
+    private final ArrayList<Effect> effects;
+
+    // The combined modifiers of all effects. See aggregate().
+    private int hpModifier;
+    private int armorModifier;
+    private int accuracyModifier;
+    private int damageModifier;
+    private DiceType damageDie;
+
+    /**
+     * Constructs an empty stack, which does not impact stats.
+     */
+    public EffectStack() {
+        effects = new ArrayList<>();
+        damageDie = DiceType.NONE;
+    }
+
+    /**
+     * Adds an effect to the stack.
+     *
+     * @param effect the effect to add
+     */
+    public void add(Effect effect) {
+        effects.add(effect);
+        aggregate();
+    }
+
+    /**
+     * Removes an effect from the stack.
+     *
+     * @param effect the effect to remove
+     * @return whether the effect was in the stack
+     */
+    public boolean remove(Effect effect) {
+        boolean removed = effects.remove(effect);
+        if (removed) aggregate();
+        return removed;
+    }
+
+    /**
+     * Removes every effect from the stack.
+     */
+    public void clear() {
+        effects.clear();
+        aggregate();
+    }
+
+    /**
+     * Gets the effects in the stack, in the order they were added.
+     *
+     * @return an unmodifiable view of the effects
+     */
+    public List<Effect> getEffects() {
+        return Collections.unmodifiableList(effects);
+    }
+
+    /**
+     * Recombines the modifiers of every effect.
+     */
+    private void aggregate() {
+        hpModifier = 0;
+        armorModifier = 0;
+        accuracyModifier = 0;
+        damageModifier = 0;
+        damageDie = DiceType.NONE;
+
+        for (Effect effect : effects) {
+            hpModifier += effect.getMaxHPModifier();
+            armorModifier += effect.getArmorModifier();
+            accuracyModifier += effect.getAccuracyModifier();
+            damageModifier += effect.getDamageModifier();
+
+            if (effect.getDamageDie() != DiceType.NONE) {
+                damageDie = effect.getDamageDie();
+            }
+        }
+    }
+
+    /**
+     * Gets the name of the stack.
+     *
+     * @return the names of the effects, separated by commas
+     */
+    @Override
+    public String getName() {
+        StringBuilder name = new StringBuilder();
+        for (Effect effect : effects) {
+            if (name.length() > 0) name.append(", ");
+            name.append(effect.getName());
+        }
+        return name.toString();
+    }
+
+    /**
+     * Gets the combined HP modifier.
+     *
+     * @return an int to add to the max HP
+     */
+    @Override
+    public int getMaxHPModifier() {
+        return hpModifier;
+    }
+
+    /**
+     * Gets the combined armor modifier.
+     *
+     * @return an int to add to the armor
+     */
+    @Override
+    public int getArmorModifier() {
+        return armorModifier;
+    }
+
+    /**
+     * Gets the combined accuracy modifier.
+     *
+     * @return an int to add to the accuracy
+     */
+    @Override
+    public int getAccuracyModifier() {
+        return accuracyModifier;
+    }
+
+    /**
+     * Gets the combined damage modifier.
+     *
+     * @return an int to add to the damage
+     */
+    @Override
+    public int getDamageModifier() {
+        return damageModifier;
+    }
+
+    /**
+     * Gets the replacement damage die.
+     *
+     * @return the die of the most recent effect with one, otherwise NONE
+     */
+    @Override
+    public DiceType getDamageDie() {
+        return damageDie;
+    }
+
+    /**
+     * Creates a card displaying the combined stat modifiers.
+     *
+     * @return a string of the info card
+     */
+    @Override
+    public String toString() {
+        StringBuilder card = new StringBuilder("+======================+\n");
+        for (Effect effect : effects) {
+            card.append(String.format("|%-22s|%n", effect.getName()));
+        }
+        return card +
+                String.format("|    HP Bonus: %+8d|%n", getMaxHPModifier())  +
+                String.format("|    AC Bonus: %+8d|%n", getArmorModifier()) +
+                String.format("|    Accuracy: %+8d|%n", getAccuracyModifier()) +
+                String.format("|Damage Bonus: %+8d|%n", getDamageModifier()) +
+                String.format("|  Damage Die: %8s|%n", getDamageDie())  +
+                "+======================+";
+    }
+
+    public static void main(String[] args) {
+        EffectStack stack = new EffectStack();
+        Fortune merlinLuck = new Fortune("Merlin Luck", 10, 5, 2, 0, DiceType.D12);
+        Fortune horusCurse = new Fortune("Curse of Horus", -5, 0, -2, -1, DiceType.NONE);
+
+        stack.add(merlinLuck);
+        stack.add(horusCurse);
+        System.out.println(stack);
+
+        stack.remove(merlinLuck);
+        System.out.println(stack);
+    }
+}
@@ -29,6 +29,8 @@ public class Fortune implements Effect, CSV {
 
     private final DiceType damageDie;
 
+    private String card; // The rendered info card, or null if not yet rendered.
+
     /**
      * Constructs a neutral "empty" fortune, one which does not impact stats.
      */
@@ -133,17 +135,30 @@ public class Fortune implements Effect, CSV {
      *
      * @return the replacement damageDie
      */
+    @Override
     public DiceType getDamageDie() {
         return damageDie;
     }
 
     /**
-     * Creates a card displaying the fortune's stat modifiers.
+     * Gets a card displaying the fortune's stat modifiers.<br>
+     * <br>
+     * Fortunes never change, so the card is rendered once, when first shown.
      *
      * @return a string of the info card
      */
     @Override
     public String toString() {
+        if (card == null) card = renderCard();
+        return card;
+    }
+
+    /**
+     * Renders a card displaying the fortune's stat modifiers.
+     *
+     * @return a string of the info card
+     */
+    private String renderCard() {
         return "+======================+\n" +
                 String.format("|%-22s|%n", getName()) +
                 String.format("|    HP Bonus: %+8d|%n", getMaxHPModifier())  +
@@ -4,14 +4,24 @@ import GameEngine.DiceType;
 import GameObjects.Effects.Fortune;
 import GameObjects.CSV;
 
+import java.util.function.Consumer;
+
 /**
- * A knight which can join the player's party and fight for them.
+ * A knight which can join the player's party and fight for them.<br>
+ * <br>
+ * <p>
+ *     The knight's active fortune is one of its effects (see {@link MOB#addEffect}),<br>
+ *     so it stacks with any other effects on the knight.
+ * </p>
  */
 public class Knight extends MOB implements CSV {
 
     private Fortune activeFortune;
     protected final int id;
     protected int xp;
+    private boolean dirty; // Whether the knight has changed since it was last saved.
+    private int saveVersion; // Changes whenever the knight's saved data changes.
+    private Consumer<Knight> dirtyListener; // Told when the knight becomes dirty, or null.
 
 
     /**
@@ -29,7 +39,21 @@ public class Knight extends MOB implements CSV {
         super(name, maxHP, armor, accuracy, damageDie);
         this.id = id;
         this.xp = xp;
-        this.activeFortune = new Fortune();
+        setActiveFortune(new Fortune());
+    }
+
+    /**
+     * Creates a copy of the knight.<br>
+     * <br>
+     * <p>
+     *     The copy keeps the ID and XP, but has no fortune or damage.
+     * </p>
+     *
+     * @return a new identical knight.
+     */
+    @Override
+    public Knight copy() {
+        return new Knight(id, getName(), maxHP, armor, accuracy, damageDie, xp);
     }
 
     /**
@@ -42,90 +66,104 @@ public class Knight extends MOB implements CSV {
     }
 
     /**
-     * Gets the knight's max HP.
+     * Gets the knight's fortune.
      *
-     * @return the knight's max HP.
+     * @return the knight's active fortune.
      */
-    @Override
-    public int getMaxHP() {
-        return super.getMaxHP() + getActiveFortune().getMaxHPModifier();
+    public Fortune getActiveFortune() {
+        return activeFortune;
     }
 
     /**
-     * Gets the knight's armor class.
+     * Sets the knight's fortune, replacing its previous fortune.
      *
-     * @return the knight's armor level.
+     * @param fortune the fortune to give the knight.
      */
-    @Override
-    public int getArmor() {
-        return super.getArmor() + getActiveFortune().getArmorModifier();
+    public void setActiveFortune(Fortune fortune) {
+        if (activeFortune != null) effects.remove(activeFortune);
+        activeFortune = fortune;
+        addEffect(fortune);
     }
 
     /**
-     * Gets the knight's accuracy.
-     *
-     * @return the knight's accuracy.
+     * Removes every effect from the knight, including its fortune, which is replaced by an empty one.
      */
     @Override
-    public int getAccuracy() {
-        return super.getAccuracy() + getActiveFortune().getAccuracyModifier();
+    public void clearEffects() {
+        effects.clear();
+        activeFortune = null;
+        setActiveFortune(new Fortune());
     }
 
     /**
-     * Gets the knight's damage die.
+     * Gets the knight's current XP.
      *
-     * @return the knight's damage DiceType.
+     * @return the knight's XP.
      */
-    @Override
-    public DiceType getDamageDie() {
-        DiceType fortuneDie = getActiveFortune().getDamageDie();
-
-        return (fortuneDie != DiceType.NONE) ? fortuneDie : super.getDamageDie();
+    public int getXP() {
+        return xp;
     }
 
     /**
-     * Gets the knight's fortune.
+     * Adds to the current XP level.
      *
-     * @return the knight's active fortune.
+     * @param xp the XP to add.
      */
-    public Fortune getActiveFortune() {
-        return activeFortune;
+    public void addXP(int xp) {
+        if (xp != 0) {
+            if (!dirty) {
+                dirty = true;
+                if (dirtyListener != null) dirtyListener.accept(this);
+            }
+            ++saveVersion;
+            touch();
+        }
+        this.xp += xp;
     }
 
     /**
-     * Sets the knight's fortune.
+     * Gets the version of the knight's saved data, which changes whenever that data changes.
      *
-     * @param fortune the fortune to give the knight.
+     * @return the knight's save version.
      */
-    public void setActiveFortune(Fortune fortune) {
-        activeFortune = fortune;
+    public int getSaveVersion() {
+        return saveVersion;
     }
 
     /**
-     * Gets the knight's current XP.
+     * Checks whether the knight's saved data has changed since it was last saved or loaded.
      *
-     * @return the knight's XP.
+     * @return whether the knight needs saving.
      */
-    public int getXP() {
-        return xp;
+    public boolean isDirty() {
+        return dirty;
     }
 
     /**
-     * Adds to the current XP level.
+     * Sets who to tell when the knight becomes dirty, such as the game data tracking unsaved knights.<br>
+     * <br>
+     * Only told when a clean knight becomes dirty, so it is told once per save.
      *
-     * @param xp the XP to add.
+     * @param listener the listener, or null for none
      */
-    public void addXP(int xp) {
-        this.xp += xp;
+    public void setDirtyListener(Consumer<Knight> listener) {
+        dirtyListener = listener;
+    }
+
+    /**
+     * Marks the knight as saved.
+     */
+    public void markClean() {
+        dirty = false;
     }
 
     /**
-     * Creates a card displaying the knight's current stats.
+     * Renders a card displaying the knight's current stats.
      *
      * @return a string of the info card.
      */
     @Override
-    public String toString() {
+    protected String renderCard() {
         return "+============================+\n" +
                 String.format("| %-27s|%n", getName()) +
                 String.format("| id: %-23d|%n", getId()) +
@@ -3,9 +3,23 @@ package GameObjects.MobileObjects;
 import GameEngine.DiceSet;
 import GameEngine.DiceType;
 import GameObjects.CSV;
+import GameObjects.Effects.Effect;
+import GameObjects.Effects.EffectStack;
+
+import java.util.List;
 
 /**
- * A general character which has health and can attack.
+ * A general character which has health and can attack.<br>
+ * <br>
+ * <p>
+ *     A MOB may be under any number of effects (see {@link #addEffect(Effect)}).<br>
+ *     Its stats, with every effect applied, are precomputed whenever its effects change,<br>
+ *     so the stat getters used in combat are plain field reads.
+ * </p>
+ * <p>
+ *     The MOB's info card (see {@link #toString()}) is cached, and only rendered again after the MOB changes.<br>
+ *     Anything changing what the card shows must call {@link #touch()}.
+ * </p>
  */
 public class MOB implements Attributes, CSV {
 
@@ -16,6 +30,19 @@ public class MOB implements Attributes, CSV {
     protected final int accuracy; // The accuracy of the MOB.
     protected final DiceType damageDie; // The type of damage die used if the mob successfully strikes the target.
 
+    protected final EffectStack effects; // The effects currently applied to the MOB.
+
+    // The stats with every effect applied. See refreshStats().
+    private int effectiveMaxHP;
+    private int effectiveArmor;
+    private int effectiveAccuracy;
+    private int effectiveDamageModifier;
+    private DiceType effectiveDamageDie;
+
+    private int version; // Changes whenever the MOB's displayed state changes.
+    private String card; // The rendered info card, or null if not yet rendered.
+    private int cardVersion; // The version the card was rendered at.
+
 
     /**
      * Constructs a MOB with given stats.
@@ -38,10 +65,86 @@ public class MOB implements Attributes, CSV {
         //  being there, so I can use my own implementation skills, giving me some actual freedom.
         //  Straight BS.
         this.damageDie = (damageDie != null) ? damageDie : DiceType.NONE;
+        this.effects = new EffectStack();
+        refreshStats();
     }
 
     /**
-     * Creates a copy of the MOB.
+     * Recomputes the MOB's stats from its base stats and effects.<br>
+     * <br>
+     * Must be called whenever anything modifying the stats changes.
+     */
+    protected void refreshStats() {
+        effectiveMaxHP = maxHP + effects.getMaxHPModifier();
+        effectiveArmor = armor + effects.getArmorModifier();
+        effectiveAccuracy = accuracy + effects.getAccuracyModifier();
+        effectiveDamageModifier = effects.getDamageModifier();
+
+        DiceType effectDie = effects.getDamageDie();
+        effectiveDamageDie = (effectDie != DiceType.NONE) ? effectDie : damageDie;
+        touch();
+    }
+
+    /**
+     * Marks the MOB as changed, so its info card is rendered again when next shown.
+     */
+    protected void touch() {
+        ++version;
+    }
+
+    /**
+     * Gets the version of the MOB's state, which changes whenever its damage, effects or stats change.
+     *
+     * @return the MOB's version.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies an effect to the MOB.
+     *
+     * @param effect the effect to apply
+     */
+    public void addEffect(Effect effect) {
+        effects.add(effect);
+        refreshStats();
+    }
+
+    /**
+     * Removes an effect from the MOB.
+     *
+     * @param effect the effect to remove
+     * @return whether the MOB was under the effect
+     */
+    public boolean removeEffect(Effect effect) {
+        boolean removed = effects.remove(effect);
+        if (removed) refreshStats();
+        return removed;
+    }
+
+    /**
+     * Removes every effect from the MOB.
+     */
+    public void clearEffects() {
+        if (effects.getEffects().isEmpty()) return;
+        effects.clear();
+        refreshStats();
+    }
+
+    /**
+     * Gets the effects applied to the MOB.
+     *
+     * @return an unmodifiable list of the effects
+     */
+    public List<Effect> getEffects() {
+        return effects.getEffects();
+    }
+
+    /**
+     * Creates a copy of the MOB.<br>
+     * <br>
+     * The copy has only the base stats, without damage or effects.
      *
      * @return a new identical MOB.
      */
@@ -74,7 +177,7 @@ public class MOB implements Attributes, CSV {
      * @return current HP of the MOB.
      */
     public int getHP() {
-        return getMaxHP() - getDamage();
+        return getMaxHP() - damage;
     }
 
     /**
@@ -84,7 +187,7 @@ public class MOB implements Attributes, CSV {
      */
     @Override
     public int getMaxHP() {
-        return maxHP;
+        return effectiveMaxHP;
     }
 
     /**
@@ -103,14 +206,21 @@ public class MOB implements Attributes, CSV {
      */
     public void addDamage(int hit) {
         // ensures damage is between 0 and maxHP
-        damage = Math.max(0, Math.min(getMaxHP(), getDamage() + hit));
+        int newDamage = Math.max(0, Math.min(getMaxHP(), damage + hit));
+        if (newDamage != damage) {
+            damage = newDamage;
+            touch();
+        }
     }
 
     /**
      * Resets the damage to 0.
      */
     public void resetDamage() {
-        damage = 0;
+        if (damage != 0) {
+            damage = 0;
+            touch();
+        }
     }
 
     /**
@@ -120,7 +230,7 @@ public class MOB implements Attributes, CSV {
      */
     @Override
     public int getArmor() {
-        return armor;
+        return effectiveArmor;
     }
 
     /**
@@ -130,7 +240,16 @@ public class MOB implements Attributes, CSV {
      */
     @Override
     public int getAccuracy() {
-        return accuracy;
+        return effectiveAccuracy;
+    }
+
+    /**
+     * Gets the MOB's damage modifier, added to every damage roll.
+     *
+     * @return the MOB's damage modifier.
+     */
+    public int getDamageModifier() {
+        return effectiveDamageModifier;
     }
 
     /**
@@ -140,6 +259,42 @@ public class MOB implements Attributes, CSV {
      */
     @Override
     public DiceType getDamageDie() {
+        return effectiveDamageDie;
+    }
+
+    /**
+     * Gets the MOB's max HP, without effects.
+     *
+     * @return the MOB's base max HP.
+     */
+    public int getBaseMaxHP() {
+        return maxHP;
+    }
+
+    /**
+     * Gets the MOB's armor class, without effects.
+     *
+     * @return the MOB's base armor value.
+     */
+    public int getBaseArmor() {
+        return armor;
+    }
+
+    /**
+     * Gets the MOB's accuracy, without effects.
+     *
+     * @return the MOB's base accuracy.
+     */
+    public int getBaseAccuracy() {
+        return accuracy;
+    }
+
+    /**
+     * Gets the MOB's damage die, without effects.
+     *
+     * @return the MOB's base damage DiceType.
+     */
+    public DiceType getBaseDamageDie() {
         return damageDie;
     }
 
@@ -163,14 +318,16 @@ public class MOB implements Attributes, CSV {
      * Calculates the damage of an attack.<br>
      * <br>
      * <p>
-     *     Damage is determined from rolling the object's damageDie.
+     *     Damage is determined from rolling the object's damageDie, plus its damage modifier.<br>
+     *     Damage is never negative.
      * </p>
      *
      * @param dice the dice set for rolling.
      * @return the value of the attack.
+     * @see #getDamageModifier()
      */
     public int rollDamage(DiceSet dice) {
-        return dice.roll(getDamageDie());
+        return Math.max(0, dice.roll(getDamageDie()) + getDamageModifier());
     }
 
     /**
@@ -189,12 +346,28 @@ public class MOB implements Attributes, CSV {
     }
 
     /**
-     * Creates a card displaying the MOB's stats.
+     * Gets a card displaying the MOB's stats.<br>
+     * <br>
+     * The card is rendered again only if the MOB has changed since it was last shown.
      *
      * @return a string of the info card.
+     * @see #renderCard()
      */
     @Override
     public String toString() {
+        if (card == null || cardVersion != version) {
+            card = renderCard();
+            cardVersion = version;
+        }
+        return card;
+    }
+
+    /**
+     * Renders a card displaying the MOB's stats.
+     *
+     * @return a string of the info card.
+     */
+    protected String renderCard() {
         return "+============================+\n" +
                 String.format("| %-27s|%n", getName()) +
                 "|                            |\n" +
@@ -209,14 +382,15 @@ public class MOB implements Attributes, CSV {
      * <br>
      * <p>
      *     Stored as:<br>
-     *     <code>name,maxHP,armor,accuracy,damageDie</code>
+     *     <code>name,maxHP,armor,accuracy,damageDie</code><br>
+     *     The base stats are stored, as effects are not saved.
      * </p>
      *
      * @return the MOB's stats as a CSV string
      */
     public String toCSV() {
         return String.format("%s,%d,%d,%d,%s",
-                getName(), getMaxHP(), getArmor(), getAccuracy(), getDamageDie());
+                getName(), maxHP, armor, accuracy, damageDie);
     }
 
     public static void main(String[] args) {
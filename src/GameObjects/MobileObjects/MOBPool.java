@@ -0,0 +1,76 @@
+package GameObjects.MobileObjects;
+
+import GameEngine.DiceType;
+import GameObjects.Effects.Fortune;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Recycles copies of MOB templates, rather than creating new ones for every encounter.<br>
+ * <br>
+ * <p>
+ *     {@link #acquire(MOB)} hands out a healed copy of a template, reusing a released one when possible.<br>
+ *     {@link #releaseAll()} returns every copy handed out since the last release, healed and without effects.<br>
+ *     Copies must not be used after they are released.
+ * </p>
+ */
+public class MOBPool {
+    private final IdentityHashMap<MOB, ArrayDeque<MOB>> free; // Released copies, by template.
+    private final ArrayList<MOB> issued; // Copies handed out since the last release.
+    private final ArrayList<MOB> issuedTemplates; // The template of each handed out copy.
+
+    /**
+     * Constructs an empty pool.
+     */
+    public MOBPool() {
+        free = new IdentityHashMap<>();
+        issued = new ArrayList<>();
+        issuedTemplates = new ArrayList<>();
+    }
+
+    /**
+     * Gets a copy of a template with no damage.
+     *
+     * @param template the MOB to copy
+     * @return a recycled or new copy
+     */
+    public MOB acquire(MOB template) {
+        ArrayDeque<MOB> copies = free.get(template);
+        MOB mob = (copies != null && !copies.isEmpty()) ? copies.pop() : template.copy();
+
+        issued.add(mob);
+        issuedTemplates.add(template);
+        return mob;
+    }
+
+    /**
+     * Returns every copy handed out since the last release, healing them and removing their effects for reuse.
+     */
+    public void releaseAll() {
+        for (int i = 0; i < issued.size(); ++i) {
+            MOB mob = issued.get(i);
+            mob.clearEffects();
+            mob.resetDamage();
+            free.computeIfAbsent(issuedTemplates.get(i), template -> new ArrayDeque<>()).push(mob);
+        }
+        issued.clear();
+        issuedTemplates.clear();
+    }
+
+    public static void main(String[] args) {
+        MOBPool pool = new MOBPool();
+        MOB orc = new MOB("Orc", 50, 14, 1, DiceType.D6);
+
+        MOB first = pool.acquire(orc);
+        first.addDamage(20);
+        first.addEffect(new Fortune("Curse of Horus", -5, -4, -2, 0, DiceType.NONE));
+        System.out.println("Damaged, cursed copy:\n" + first);
+
+        pool.releaseAll();
+        MOB second = pool.acquire(orc);
+        System.out.println("Recycled copy:\n" + second);
+        System.out.println("Same instance: " + (first == second));
+    }
+}
@@ -0,0 +1,84 @@
+package IO;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Replaces files atomically, so a crash never leaves a partly written file.<br>
+ * <br>
+ * <p>
+ *     The new contents are written to a temporary file beside the target, synced to disk,<br>
+ *     then renamed over the target. Readers see either the old file or the complete new one.<br>
+ *     The temporary file is the target's name plus {@value #TEMP_SUFFIX}, so only one write to a file may run at a time.
+ * </p>
+ */
+public final class AtomicFile {
+    public static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Writes the contents of a file.
+     */
+    @FunctionalInterface
+    public interface Writer {
+        /**
+         * Writes the contents to a channel. The channel is closed afterwards, and should not be closed here.
+         *
+         * @param channel the new file
+         * @throws IOException if writing fails
+         */
+        void write(FileChannel channel) throws IOException;
+    }
+
+    private AtomicFile() {}
+
+    /**
+     * Replaces a file with new contents.
+     *
+     * @param target the file to replace or create
+     * @param writer writes the new contents
+     * @throws IOException if writing fails, in which case the target is unchanged
+     */
+    public static void write(Path target, Writer writer) throws IOException {
+        Path absolute = target.toAbsolutePath();
+        Path directory = absolute.getParent();
+        Path temp = directory.resolve(absolute.getFileName() + TEMP_SUFFIX);
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writer.write(channel);
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(directory);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Syncs a directory, making a rename in it durable.<br>
+     * <br>
+     * Not every platform can open directories, so failures are ignored.
+     *
+     * @param directory the directory
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+        catch (IOException ignored) {}
+    }
+}
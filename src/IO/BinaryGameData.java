@@ -0,0 +1,158 @@
+package IO;
+
+import GameObjects.MobileObjects.Knight;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Handles game data with knights saved in the binary format.<br>
+ * <br>
+ * <p>
+ *     Fortunes and monsters are still read from the CSV game folder.
+ * </p>
+ * <p>
+ *     Remembers the file it last loaded or saved. Saving changes back to that file<br>
+ *     only rewrites the XP of knights which changed, in place (see {@link #saveChanges(String)}).<br>
+ *     The game does so whenever the player saves to the loaded file.
+ * </p>
+ *
+ * @see BinarySaveFormat
+ */
+public class BinaryGameData extends CSVGameData {
+
+    // The file last loaded or saved, as it was then. Not initialized here, as parseSaveFile runs during super().
+    private Path savedPath;
+    private long savedSize;
+    private int savedRosterVersion; // The roster's version when the file was written. Records follow roster order.
+
+    /**
+     * Constructs a manager for CSV game data and a binary save file.
+     *
+     * @param gameFolder the path to the game data folder
+     * @param saveFile   the path to the binary save file
+     */
+    public BinaryGameData(String gameFolder, String saveFile) {
+        this(gameFolder, saveFile, new Random());
+    }
+
+    /**
+     * Constructs a manager for CSV game data and a binary save file, drawing fortunes and monsters from the given random source.
+     *
+     * @param gameFolder the path to the game data folder
+     * @param saveFile   the path to the binary save file
+     * @param random     the source of random draws
+     */
+    public BinaryGameData(String gameFolder, String saveFile, RandomGenerator random) {
+        super(gameFolder, saveFile, random);
+    }
+
+    @Override
+    protected void parseSaveFile(String saveFilePath) {
+        try {
+            Path path = Path.of(saveFilePath);
+            setKnights(BinarySaveFormat.read(path));
+            remember(path, getRosterVersion());
+        }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a snapshot of the knights to the given file, in the binary format.
+     *
+     * @param filepath filepath to save data
+     * @param snapshot the knights to save
+     */
+    @Override
+    protected void save(String filepath, RosterSnapshot snapshot) throws IOException {
+        BinarySaveFormat.write(snapshot, Path.of(filepath));
+    }
+
+    /**
+     * Marks a snapshot as saved, and remembers its file for saving changes in place.
+     *
+     * @param filepath the file the snapshot was saved to
+     * @param snapshot the snapshot
+     * @throws IOException if the file cannot be checked
+     */
+    @Override
+    public void completeSave(String filepath, RosterSnapshot snapshot) throws IOException {
+        super.completeSave(filepath, snapshot);
+        remember(Path.of(filepath), snapshot.rosterVersion);
+    }
+
+    /**
+     * Checks whether the changes since the last save can be written to a file in place.<br>
+     * <br>
+     * They can if the file is unchanged since this last loaded or saved it, and no knights were added or replaced since.
+     *
+     * @param filepath filepath to save data
+     * @return whether saving changes is incremental
+     * @throws IOException if the file cannot be checked
+     */
+    @Override
+    public boolean canSaveChanges(String filepath) throws IOException {
+        Path path = Path.of(filepath);
+        if (savedPath == null || !savedPath.equals(path.toAbsolutePath().normalize())) return false;
+        if (!Files.exists(path) || Files.size(path) != savedSize) return false;
+        return savedRosterVersion == getRosterVersion();
+    }
+
+    /**
+     * Saves the changes since the last save to the given file.<br>
+     * <br>
+     * <p>
+     *     If the changes can be written in place (see {@link #canSaveChanges(String)}),<br>
+     *     only the XP of dirty knights (see {@link #getDirtyKnights()}) is rewritten, and synced to disk,<br>
+     *     so the cost depends on the knights changed rather than on the roster. Otherwise, saves everything.<br>
+     *     An in-place update is not atomic, so a crash part way through should be recovered with an {@link XPJournal}.
+     * </p>
+     *
+     * @param filepath filepath to save data
+     */
+    @Override
+    public void saveChanges(String filepath) throws IOException {
+        if (!canSaveChanges(filepath)) {
+            save(filepath);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(Path.of(filepath), StandardOpenOption.WRITE)) {
+            ByteBuffer xp = ByteBuffer.allocate(Integer.BYTES);
+
+            for (Knight knight : getDirtyKnights()) {
+                int record = positionOf(knight);
+
+                xp.clear();
+                xp.putInt(knight.getXP()).flip();
+                long offset = BinarySaveFormat.HEADER_SIZE + (long) record * BinarySaveFormat.RECORD_SIZE
+                        + BinarySaveFormat.XP_OFFSET;
+                while (xp.hasRemaining()) channel.write(xp, offset + xp.position());
+            }
+            channel.force(false);
+        }
+        markDirtyClean();
+        checkpoint(filepath);
+    }
+
+    /**
+     * Remembers a file as holding the roster at the given version.
+     *
+     * @param path          the file just loaded or saved
+     * @param rosterVersion the roster's version when the file was written
+     * @throws IOException if the file cannot be checked
+     */
+    private void remember(Path path, int rosterVersion) throws IOException {
+        savedPath = path.toAbsolutePath().normalize();
+        savedSize = Files.size(path);
+        savedRosterVersion = rosterVersion;
+    }
+}
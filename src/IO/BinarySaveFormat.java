@@ -0,0 +1,264 @@
+package IO;
+
+import GameEngine.DiceType;
+import GameObjects.MobileObjects.Knight;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Reads and writes knights in a compact binary save format.<br>
+ * <br>
+ * <p>
+ *     A file starts with a {@value #HEADER_SIZE} byte header:<br>
+ *     <i>magic (int), version (short), reserved (short), knightCount (int), nameCount (int), dictionaryOffset (long)</i><br>
+ *     followed by one {@value #RECORD_SIZE} byte record per knight, in roster order:<br>
+ *     <i>nameIndex (int), xp (int), maxHP (short), armor (short), accuracy (short), damageDie (byte), padding (byte)</i><br>
+ *     and finally the name dictionary, each name as <i>length (unsigned short), UTF-8 bytes</i>.
+ * </p>
+ * <p>
+ *     Every record has the same size, so knight <code>i</code> is always at
+ *     <code>HEADER_SIZE + i * RECORD_SIZE</code>.<br>
+ *     Knights sharing a name share a dictionary entry. Dice are stored by face count, with NONE as 1.<br>
+ *     IDs are not stored; as with CSV saves, they are assigned by order, starting at 1.
+ * </p>
+ *
+ * @see BinaryGameData
+ * @see SaveConverter
+ */
+public final class BinarySaveFormat {
+    public static final int MAGIC = 0x4B4F4C42; // "KOLB"
+    public static final short VERSION = 1;
+    public static final int HEADER_SIZE = 24;
+    public static final int RECORD_SIZE = 16;
+    public static final int XP_OFFSET = 4; // The offset of the XP within a record.
+    public static final String EXTENSION = ".kolb";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    private static final DiceType[] DICE_BY_FACES = new DiceType[21]; // Dice types, indexed by face count.
+    static {
+        for (DiceType type : DiceType.values()) DICE_BY_FACES[type.getFaces()] = type;
+    }
+
+    private BinarySaveFormat() {}
+
+    /**
+     * Checks whether a file name has the binary save extension.
+     *
+     * @param filepath the file name
+     * @return whether it names a binary save
+     */
+    public static boolean isBinary(String filepath) {
+        return filepath.toLowerCase().endsWith(EXTENSION);
+    }
+
+    /**
+     * Writes knights to a file, replacing it atomically (see {@link AtomicFile}).<br>
+     * <br>
+     * Base stats are written, as with {@link Knight#toCSV()}, along with the XP in the snapshot.
+     *
+     * @param knights the knights to write
+     * @param path    the file to write
+     * @throws IOException if the file cannot be written, or a name or stat is too large
+     */
+    public static void write(RosterSnapshot knights, Path path) throws IOException {
+        AtomicFile.write(path, channel -> write(knights, channel));
+    }
+
+    /**
+     * Writes knights to an empty file.
+     *
+     * @param knights the knights to write
+     * @param channel the file to write
+     * @throws IOException if the file cannot be written, or a name or stat is too large
+     */
+    public static void write(RosterSnapshot knights, FileChannel channel) throws IOException {
+        HashMap<String, Integer> nameIndices = new HashMap<>();
+        ArrayList<String> names = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        channel.position(HEADER_SIZE);
+        for (int i = 0; i < knights.size(); ++i) {
+            Knight knight = knights.getKnight(i);
+            Integer nameIndex = nameIndices.get(knight.getName());
+            if (nameIndex == null) {
+                nameIndex = names.size();
+                nameIndices.put(knight.getName(), nameIndex);
+                names.add(knight.getName());
+            }
+
+            if (buffer.remaining() < RECORD_SIZE) drain(buffer, channel);
+            if (!fitsRecord(knight)) throw new IOException("Knight stats out of range: " + knight.getName());
+            putRecord(buffer, nameIndex, knight, knights.getXP(i));
+        }
+
+        long dictionaryOffset = HEADER_SIZE + (long) knights.size() * RECORD_SIZE;
+        for (String name : names) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > MAX_NAME_LENGTH) throw new IOException("Knight name too long: " + name);
+
+            if (buffer.remaining() < 2 + bytes.length) drain(buffer, channel);
+            if (buffer.remaining() < 2 + bytes.length) {
+                buffer = ByteBuffer.allocate(2 + bytes.length);
+            }
+            buffer.putShort((short) bytes.length).put(bytes);
+        }
+        drain(buffer, channel);
+
+        buffer.clear();
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0)
+                .putInt(knights.size()).putInt(names.size()).putLong(dictionaryOffset);
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer, buffer.position());
+    }
+
+    /**
+     * Checks whether a knight's stats fit in a record.
+     *
+     * @param knight the knight
+     * @return whether every stat fits its field
+     */
+    static boolean fitsRecord(Knight knight) {
+        return knight.getBaseMaxHP() == (short) knight.getBaseMaxHP()
+                && knight.getBaseArmor() == (short) knight.getBaseArmor()
+                && knight.getBaseAccuracy() == (short) knight.getBaseAccuracy();
+    }
+
+    /**
+     * Writes one knight's record into a buffer.<br>
+     * <br>
+     * The knight's stats must fit (see {@link #fitsRecord(Knight)}).
+     *
+     * @param buffer    the buffer, with at least {@link #RECORD_SIZE} bytes remaining
+     * @param nameIndex the dictionary index of the knight's name
+     * @param knight    the knight
+     * @param xp        the knight's XP
+     */
+    static void putRecord(ByteBuffer buffer, int nameIndex, Knight knight, int xp) {
+        buffer.putInt(nameIndex)
+                .putInt(xp)
+                .putShort((short) knight.getBaseMaxHP())
+                .putShort((short) knight.getBaseArmor())
+                .putShort((short) knight.getBaseAccuracy())
+                .put((byte) knight.getBaseDamageDie().getFaces())
+                .put((byte) 0);
+    }
+
+    /**
+     * Reads knights from a file.
+     *
+     * @param path the file to read
+     * @return the knights, in file order
+     * @throws IOException if the file cannot be read, or is not a valid save
+     */
+    public static ArrayList<Knight> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+
+            if (header.getInt() != MAGIC) throw new IOException(path + " is not a binary save file.");
+            short version = header.getShort();
+            if (version != VERSION) throw new IOException(path + " has unsupported version " + version + ".");
+            header.getShort();
+            int knightCount = header.getInt();
+            int nameCount = header.getInt();
+            long dictionaryOffset = header.getLong();
+
+            if (knightCount < 0 || nameCount < 0
+                    || dictionaryOffset != HEADER_SIZE + (long) knightCount * RECORD_SIZE
+                    || dictionaryOffset > channel.size()) {
+                throw new IOException(path + " has a corrupt header.");
+            }
+
+            String[] names = readNames(channel, dictionaryOffset, nameCount, path);
+            ArrayList<Knight> knights = new ArrayList<>(knightCount);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE - BUFFER_SIZE % RECORD_SIZE);
+            long position = HEADER_SIZE;
+
+            while (knights.size() < knightCount) {
+                int records = Math.min(knightCount - knights.size(), buffer.capacity() / RECORD_SIZE);
+                buffer.clear().limit(records * RECORD_SIZE);
+                readFully(channel, buffer, position);
+                position += buffer.limit();
+
+                for (int i = 0; i < records; ++i) {
+                    int nameIndex = buffer.getInt();
+                    int xp = buffer.getInt();
+                    int maxHP = buffer.getShort();
+                    int armor = buffer.getShort();
+                    int accuracy = buffer.getShort();
+                    int faces = buffer.get();
+                    buffer.get();
+
+                    if (nameIndex < 0 || nameIndex >= nameCount
+                            || faces < 0 || faces >= DICE_BY_FACES.length || DICE_BY_FACES[faces] == null) {
+                        throw new IOException(path + " has a corrupt record for knight " + (knights.size() + 1) + ".");
+                    }
+                    knights.add(new Knight(knights.size() + 1, names[nameIndex], maxHP, armor, accuracy,
+                            DICE_BY_FACES[faces], xp));
+                }
+            }
+            return knights;
+        }
+    }
+
+    /**
+     * Reads the name dictionary.
+     *
+     * @param channel  the file
+     * @param offset   the start of the dictionary
+     * @param count    the number of names
+     * @param path     the file's path, for errors
+     * @return the names, by index
+     * @throws IOException if the dictionary cannot be read
+     */
+    private static String[] readNames(FileChannel channel, long offset, int count, Path path) throws IOException {
+        long length = channel.size() - offset;
+        if (length > Integer.MAX_VALUE) throw new IOException(path + " has a corrupt name dictionary.");
+
+        ByteBuffer dictionary = ByteBuffer.allocate((int) length);
+        readFully(channel, dictionary, offset);
+
+        String[] names = new String[count];
+        for (int i = 0; i < count; ++i) {
+            if (dictionary.remaining() < 2) throw new IOException(path + " has a corrupt name dictionary.");
+            int nameLength = Short.toUnsignedInt(dictionary.getShort());
+            if (dictionary.remaining() < nameLength) throw new IOException(path + " has a corrupt name dictionary.");
+
+            names[i] = new String(dictionary.array(), dictionary.position(), nameLength, StandardCharsets.UTF_8);
+            dictionary.position(dictionary.position() + nameLength);
+        }
+        return names;
+    }
+
+    /**
+     * Fills a buffer from a position in a file.
+     *
+     * @throws IOException if the file ends first
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of binary save file.");
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Writes out a buffer's contents and clears it.
+     */
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -6,7 +6,10 @@ import GameObjects.MobileObjects.Knight;
 import GameObjects.MobileObjects.MOB;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Handles accessing and manipulating CSV data during gameplay.
@@ -25,7 +28,18 @@ public class CSVGameData extends GameData {
      * @param saveFolder the path to the save data folder
      */
     public CSVGameData(String gameFolder, String saveFolder) {
-        super();
+        this(gameFolder, saveFolder, new Random());
+    }
+
+    /**
+     * Constructs a manager for data from CSV files, drawing fortunes and monsters from the given random source.
+     *
+     * @param gameFolder the path to the game data folder
+     * @param saveFolder the path to the save data folder
+     * @param random     the source of random draws
+     */
+    public CSVGameData(String gameFolder, String saveFolder, RandomGenerator random) {
+        super(random);
 
         try {
             parseGameFolder(gameFolder);
@@ -38,21 +52,49 @@ public class CSVGameData extends GameData {
 
     private void parseGameFolder(String gameFolderPath) throws FileNotFoundException {
         Map<String, File> gameFolder = parseFolder(gameFolderPath);
+        File fortuneFile = gameFolder.get("fortunes.csv");
+        File monsterFile = gameFolder.get("monsters.csv");
 
-        try {
-            Scanner fortuneData = new Scanner(gameFolder.get("fortunes.csv"));
-            Scanner monsterData = new Scanner(gameFolder.get("monsters.csv"));
+        if (fortuneFile == null || monsterFile == null) {
+            throw new FileNotFoundException("GameData folder does not contain required files.");
+        }
 
+        try (CSVReader fortuneData = new CSVReader(new FileInputStream(fortuneFile));
+             CSVReader monsterData = new CSVReader(new FileInputStream(monsterFile))) {
             parseFortunes(fortuneData);
             parseMOBs(monsterData);
         }
         catch (FileNotFoundException e) {
             throw new FileNotFoundException("GameData folder does not contain required files.");
         }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
     }
 
-    private void parseSaveFile(String saveFilePath) throws FileNotFoundException {
-        parseKnights(readFile(saveFilePath));
+    /**
+     * Replaces the knights with those from a save file.
+     *
+     * @param saveFilePath the path of the save file
+     */
+    protected void parseSaveFile(String saveFilePath) {
+        File saveFile = new File(saveFilePath);
+        if (saveFile.length() >= MappedSaveLoader.MIN_PARALLEL_SIZE) {
+            try {
+                setKnights(MappedSaveLoader.load(saveFile.toPath()));
+                return;
+            }
+            catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+
+        try (CSVReader knightData = readFile(saveFilePath)) {
+            parseKnights(knightData);
+        }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
     }
 
     private static Map<String, File> parseFolder(String folderPath) {
@@ -65,126 +107,150 @@ public class CSVGameData extends GameData {
         return dataFiles;
     }
 
-    public void parseKnights(Scanner KnightData) {
+    /**
+     * Replaces the knights with those from CSV data.<br>
+     * <br>
+     * IDs are assigned by order, starting at 1.
+     *
+     * @param knightData CSV data of the knights
+     */
+    public void parseKnights(CSVReader knightData) {
         ArrayList<Knight> knights = new ArrayList<>();
-        Scanner KnightLine;
         int id = 1;
 
-        while (KnightData.hasNext()) {
-            KnightLine = new Scanner(KnightData.nextLine());
-            knights.add(parseKnight(id, KnightLine));
+        while (knightData.nextRecord()) {
+            knights.add(parseKnight(id, knightData));
             ++id;
         }
-        this.knights = knights;
+        setKnights(knights);
     }
 
     /**
-     * Creates a Knight object from a CSV line.<br>
+     * Creates a Knight object from a CSV record.<br>
      * <br>
      * Knights are stored as<br>
      * <i>name,maxHP,armor,accuracy,damageDie,xp</i><br>
      *
-     * @param line CSV data for the knight
+     * @param idCount the ID of the knight
+     * @param line    CSV data for the knight
      * @return the knight from the CSV data
      */
-    private static Knight parseKnight(int idCount, Scanner line) {
-        line.useDelimiter(",");
-
+    static Knight parseKnight(int idCount, CSVReader line) {
         return new Knight(
                 idCount,
-                line.next().trim(),
+                line.nextString(),
                 line.nextInt(),
                 line.nextInt(),
                 line.nextInt(),
-                DiceType.typeOf(line.next().trim()),
+                line.nextDiceType(),
                 line.nextInt()
         );
     }
 
-    public void parseMOBs(Scanner MOBData) {
+    /**
+     * Replaces the monsters with those from CSV data.<br>
+     * <br>
+     * Monsters are stored as<br>
+     * <i>name,maxHP,armor,accuracy,damageDie[,weight]</i><br>
+     * where the optional weight sets how often the monster spawns, defaulting to 1.
+     *
+     * @param MOBData CSV data of the monsters
+     */
+    public void parseMOBs(CSVReader MOBData) {
         ArrayList<MOB> mobs = new ArrayList<>();
-        Scanner MOBLine;
+        ArrayList<Integer> weights = new ArrayList<>();
 
-        while (MOBData.hasNext()) {
-            MOBLine = new Scanner(MOBData.nextLine());
-            mobs.add(parseMOB(MOBLine));
+        while (MOBData.nextRecord()) {
+            mobs.add(parseMOB(MOBData));
+            weights.add(parseWeight(MOBData));
         }
-        this.monsters = mobs;
+        setMonsters(mobs, weights);
     }
 
     /**
-     * Creates a MOB object from CSV line.
+     * Creates a MOB object from a CSV record.
      *
      * @param MOBLine CSV data for the MOB
-     * @return the knight from the CSV data
+     * @return the MOB from the CSV data
      */
-    private static MOB parseMOB(Scanner MOBLine) {
-        MOBLine.useDelimiter(",");
-
+    private static MOB parseMOB(CSVReader MOBLine) {
         return new MOB(
-                MOBLine.next().trim(),
+                MOBLine.nextString(),
                 MOBLine.nextInt(),
                 MOBLine.nextInt(),
                 MOBLine.nextInt(),
-                DiceType.typeOf(MOBLine.next().trim())
+                MOBLine.nextDiceType()
         );
     }
 
-    public void parseFortunes(Scanner FortuneData) {
+    /**
+     * Replaces the fortunes with those from CSV data.<br>
+     * <br>
+     * Fortunes are stored as<br>
+     * <i>name,maxHPModifier,armorModifier,accuracyModifier,damageModifier,damageDie[,weight]</i><br>
+     * where the optional weight sets how often the fortune is drawn, defaulting to 1.
+     *
+     * @param FortuneData CSV data of the fortunes
+     */
+    public void parseFortunes(CSVReader FortuneData) {
         ArrayList<Fortune> fortunes = new ArrayList<>();
-        Scanner FortuneLine;
+        ArrayList<Integer> weights = new ArrayList<>();
 
-        while (FortuneData.hasNext()) {
-            FortuneLine = new Scanner(FortuneData.nextLine());
-            fortunes.add(parseFortune(FortuneLine));
+        while (FortuneData.nextRecord()) {
+            fortunes.add(parseFortune(FortuneData));
+            weights.add(parseWeight(FortuneData));
         }
-        this.fortunes = fortunes;
+        setFortunes(fortunes, weights);
     }
 
     /**
-     * Creates a Fortune object from CSV line.
+     * Reads the optional weight at the end of a record.
+     *
+     * @param line CSV data with the weight next, if any
+     * @return the weight, or 1 if there is none
+     * @throws InputMismatchException if the weight is negative or not an int
+     */
+    private static int parseWeight(CSVReader line) {
+        if (!line.hasField()) return 1;
+
+        int weight = line.nextInt();
+        if (weight < 0) throw new InputMismatchException("Line " + line.getLineNumber() + ": negative weight.");
+        return weight;
+    }
+
+    /**
+     * Creates a Fortune object from a CSV record.
      *
      * @param fortuneLine CSV data for the fortune
      * @return the fortune from the CSV data
      */
-    private static Fortune parseFortune(Scanner fortuneLine) {
-        fortuneLine.useDelimiter(",");
-
+    private static Fortune parseFortune(CSVReader fortuneLine) {
         return new Fortune(
-                fortuneLine.next().trim(),
+                fortuneLine.nextString(),
                 fortuneLine.nextInt(),
                 fortuneLine.nextInt(),
                 fortuneLine.nextInt(),
                 fortuneLine.nextInt(),
-                DiceType.typeOf(fortuneLine.next().trim())
+                fortuneLine.nextDiceType()
         );
     }
 
     /**
-     * Gets a scanner from a file.<br>
+     * Gets a CSV reader from a file.<br>
      * <br>
-     * If it fails to read the file, returns a scanner from a blank string.
+     * If it fails to read the file, returns a reader with no records.
      *
      * @param filepath path of the file to read
-     * @return a scanner from the file
+     * @return a reader of the file
      */
-    private static Scanner readFile(String filepath) {
+    private static CSVReader readFile(String filepath) {
         try {
-            return new Scanner(new File(filepath));
+            return new CSVReader(new FileInputStream(filepath));
         }
         catch (FileNotFoundException e) {
             System.err.println(e.getMessage());
         }
-        return new Scanner("");
-    }
-
-    private static Scanner readFile(File file) {
-        try {
-            return new Scanner(file);
-        }
-        catch (FileNotFoundException e) {
-            throw new Error("File not found");
-        }
+        return new CSVReader(ByteBuffer.allocate(0));
     }
 
     /**
@@ -192,15 +258,15 @@ public class CSVGameData extends GameData {
      *
      * @param line the object's CSV data
      */
-    private void parseGameDataLine(Scanner line) {
-        line.useDelimiter(",");
-
-        String type = line.next();
+    private void parseGameDataLine(CSVReader line) {
+        String type = line.nextString();
         if (type.equals("MOB")) {
             monsters.add(parseMOB(line));
+            monsterWeights.add(parseWeight(line));
         }
         else if (type.equals("FORTUNE")) {
             fortunes.add(parseFortune(line));
+            fortuneWeights.add(parseWeight(line));
         }
         else {
             System.err.println("Failed to parse line.");
@@ -213,11 +279,14 @@ public class CSVGameData extends GameData {
      * @param filepath path of the data file
      */
     public void loadGameData(String filepath) {
-        Scanner file = readFile(filepath);
-        Scanner line;
-        while (file.hasNext()) {
-            line = new Scanner(file.nextLine());
-            parseGameDataLine(line);
+        try (CSVReader file = readFile(filepath)) {
+            while (file.nextRecord()) {
+                parseGameDataLine(file);
+            }
+            rebuildTables();
+        }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
         }
     }
 
@@ -228,27 +297,58 @@ public class CSVGameData extends GameData {
      */
     public void loadSaveData(String filepath) {
         int idCount = 0;
-        Scanner file = readFile(filepath);
 
-        while (file.hasNext()) {
-            ++idCount;
-            knights.add(parseKnight(idCount, new Scanner(file.nextLine())));
+        try (CSVReader file = readFile(filepath)) {
+            while (file.nextRecord()) {
+                ++idCount;
+                addKnight(parseKnight(idCount, file));
+            }
+        }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
         }
     }
 
     /**
-     * Saves the current game-state to the given file.
+     * Writes a snapshot of the knights to the given file.<br>
+     * <br>
+     * The file is replaced atomically (see {@link AtomicFile}).
      *
      * @param filepath filepath to save data
+     * @param snapshot the knights to save
      */
     @Override
-    public void save(String filepath) throws IOException {
-        PrintWriter file = new PrintWriter(filepath);
+    protected void save(String filepath, RosterSnapshot snapshot) throws IOException {
+        AtomicFile.write(Path.of(filepath), channel -> {
+            CSVWriter file = new CSVWriter(channel);
+            writeKnights(file, snapshot);
+            file.flush();
+        });
+    }
 
-        for (Knight knight : knights) {
-            file.println(knight.toCSV());
+    /**
+     * Writes knights as CSV records.<br>
+     * <br>
+     * Knights are stored as<br>
+     * <i>name,maxHP,armor,accuracy,damageDie,xp</i><br>
+     * the same as {@link Knight#toCSV()}.
+     *
+     * @param file     the writer to write to
+     * @param snapshot the knights to write
+     * @throws IOException if writing fails
+     */
+    public static void writeKnights(CSVWriter file, RosterSnapshot snapshot) throws IOException {
+        for (int i = 0; i < snapshot.size(); ++i) {
+            Knight knight = snapshot.getKnight(i);
+
+            file.writeString(knight.getName());
+            file.writeInt(knight.getBaseMaxHP());
+            file.writeInt(knight.getBaseArmor());
+            file.writeInt(knight.getBaseAccuracy());
+            file.writeDiceType(knight.getBaseDamageDie());
+            file.writeInt(snapshot.getXP(i));
+            file.endRecord();
         }
-        file.close();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,350 @@
+package IO;
+
+import GameEngine.DiceType;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+
+/**
+ * Reads CSV records straight from bytes.<br>
+ * <br>
+ * <p>
+ *     Records are read one at a time with {@link #nextRecord()}, then their fields in order with<br>
+ *     {@link #nextString()}, {@link #nextInt()} and {@link #nextDiceType()}.<br>
+ *     Ints and dice are parsed directly from the bytes, so only string fields allocate.<br>
+ *     Blank lines are skipped, and both <code>\n</code> and <code>\r\n</code> line endings are accepted.
+ * </p>
+ * <p>
+ *     Reads either from a stream, through a growing buffer, or from a fixed {@link ByteBuffer},<br>
+ *     such as a memory-mapped file.
+ * </p>
+ */
+public class CSVReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final DiceType[] DICE_BY_FACES = new DiceType[21]; // Dice types, indexed by face count.
+    static {
+        for (DiceType type : DiceType.values()) {
+            if (type != DiceType.NONE) DICE_BY_FACES[type.getFaces()] = type;
+        }
+    }
+
+    private final ReadableByteChannel channel; // The source of more bytes, or null for a fixed buffer.
+    private ByteBuffer buffer; // The unread bytes lie between position and limit.
+    private boolean endOfInput;
+
+    private int nextRecordStart; // The start of the line after the current record.
+    private int fieldStart; // The start of the next field.
+    private int recordEnd; // The end of the current record, without its line ending.
+    private int lineNumber;
+
+    private byte[] scratch; // Reused for decoding strings from direct buffers.
+
+    /**
+     * Constructs a reader over a stream.
+     *
+     * @param in the stream to read
+     */
+    public CSVReader(InputStream in) {
+        this(Channels.newChannel(in));
+    }
+
+    /**
+     * Constructs a reader over a channel.
+     *
+     * @param channel the channel to read
+     */
+    public CSVReader(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+        this.endOfInput = false;
+        this.scratch = new byte[64];
+    }
+
+    /**
+     * Constructs a reader over fixed bytes.<br>
+     * <br>
+     * Reads from the buffer's position to its limit, without changing the given buffer.
+     *
+     * @param data the bytes to read
+     */
+    public CSVReader(ByteBuffer data) {
+        this(data, 0);
+    }
+
+    /**
+     * Constructs a reader over fixed bytes from the middle of a file, such as one chunk of it.<br>
+     * <br>
+     * Reads from the buffer's position to its limit, without changing the given buffer.<br>
+     * Line numbers, as reported in errors, continue from the lines before the bytes.
+     *
+     * @param data        the bytes to read
+     * @param linesBefore the number of lines in the file before the bytes
+     */
+    public CSVReader(ByteBuffer data, int linesBefore) {
+        this.channel = null;
+        this.buffer = data.slice();
+        this.endOfInput = true;
+        this.scratch = new byte[64];
+        this.lineNumber = linesBefore;
+    }
+
+    /**
+     * Moves to the next non-blank record.
+     *
+     * @return whether there was another record
+     */
+    public boolean nextRecord() {
+        while (true) {
+            buffer.position(nextRecordStart);
+            int newline = findNewline();
+            int lineStart = buffer.position();
+
+            if (newline < 0 && lineStart == buffer.limit()) {
+                nextRecordStart = lineStart;
+                return false;
+            }
+            ++lineNumber;
+
+            int lineEnd = (newline >= 0) ? newline : buffer.limit();
+            nextRecordStart = (newline >= 0) ? newline + 1 : lineEnd;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') --lineEnd;
+
+            if (!isBlank(lineStart, lineEnd)) {
+                fieldStart = lineStart;
+                recordEnd = lineEnd;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Counts the remaining records, skipping over them.
+     *
+     * @return the number of non-blank records left
+     */
+    public int countRecords() {
+        int count = 0;
+        while (nextRecord()) ++count;
+        return count;
+    }
+
+    /**
+     * Gets the line number of the current record.
+     *
+     * @return the line number, starting at 1
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Checks whether the current record has another field.
+     *
+     * @return whether there is another field
+     */
+    public boolean hasField() {
+        return fieldStart <= recordEnd;
+    }
+
+    /**
+     * Reads the next field as a string, without surrounding whitespace.
+     *
+     * @return the field
+     * @throws InputMismatchException if the record has no more fields
+     */
+    public String nextString() throws InputMismatchException {
+        int start = fieldStart;
+        int end = endOfField();
+
+        while (start < end && isSpace(buffer.get(start))) ++start;
+        while (end > start && isSpace(buffer.get(end - 1))) --end;
+
+        int length = end - start;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the next field as an int.
+     *
+     * @return the field's value
+     * @throws InputMismatchException if the field is not an int, or the record has no more fields
+     */
+    public int nextInt() throws InputMismatchException {
+        int start = fieldStart;
+        int end = endOfField();
+
+        while (start < end && isSpace(buffer.get(start))) ++start;
+        while (end > start && isSpace(buffer.get(end - 1))) --end;
+
+        boolean negative = false;
+        int i = start;
+        if (i < end && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            ++i;
+        }
+        if (i == end) throw mismatch("an int");
+
+        long value = 0;
+        for (; i < end; ++i) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) throw mismatch("an int");
+
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) throw mismatch("an int");
+        }
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE) throw mismatch("an int");
+
+        return (int) value;
+    }
+
+    /**
+     * Reads the next field as a {@link DiceType}. <code>-</code> is NONE.
+     *
+     * @return the field's dice type
+     * @throws InputMismatchException if the field is not a dice type, or the record has no more fields
+     * @see DiceType#typeOf(String)
+     */
+    public DiceType nextDiceType() throws InputMismatchException {
+        int start = fieldStart;
+        int end = endOfField();
+
+        while (start < end && isSpace(buffer.get(start))) ++start;
+        while (end > start && isSpace(buffer.get(end - 1))) --end;
+
+        if (end - start == 1 && buffer.get(start) == '-') return DiceType.NONE;
+        if (end - start < 2 || end - start > 3 || buffer.get(start) != 'D') throw mismatch("a dice type");
+
+        int faces = 0;
+        for (int i = start + 1; i < end; ++i) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) throw mismatch("a dice type");
+            faces = faces * 10 + digit;
+        }
+        if (faces >= DICE_BY_FACES.length || DICE_BY_FACES[faces] == null) throw mismatch("a dice type");
+
+        return DICE_BY_FACES[faces];
+    }
+
+    /**
+     * Finds the end of the next field, and moves past it.
+     *
+     * @return the end of the field (exclusive)
+     */
+    private int endOfField() {
+        if (!hasField()) {
+            throw new InputMismatchException("Line " + lineNumber + ": missing field.");
+        }
+
+        int end = fieldStart;
+        while (end < recordEnd && buffer.get(end) != ',') ++end;
+
+        fieldStart = end + 1;
+        return end;
+    }
+
+    /**
+     * Finds the next line ending, reading more bytes as needed.
+     *
+     * @return the index of the newline, or -1 if the input ends first
+     */
+    private int findNewline() {
+        int scanned = 0;
+        while (true) {
+            int from = buffer.position() + scanned;
+            for (int i = from; i < buffer.limit(); ++i) {
+                if (buffer.get(i) == '\n') return i;
+            }
+            scanned = buffer.limit() - buffer.position();
+            if (!fill()) return -1;
+        }
+    }
+
+    /**
+     * Reads more bytes after the unread ones, growing the buffer if it is full.<br>
+     * <br>
+     * Moves the unread bytes to the start of the buffer.
+     *
+     * @return whether any bytes were read
+     */
+    private boolean fill() {
+        if (endOfInput) return false;
+
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            bigger.put(buffer);
+            buffer = bigger;
+        }
+
+        int read;
+        try {
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.flip();
+
+        if (read < 0) {
+            endOfInput = true;
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; ++i) {
+            if (!isSpace(buffer.get(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private InputMismatchException mismatch(String expected) {
+        return new InputMismatchException("Line " + lineNumber + ": expected " + expected + ".");
+    }
+
+    /**
+     * Closes the underlying channel, if any.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) channel.close();
+    }
+
+    public static void main(String[] args) {
+        String csv = "Guinevere,35,12,1,D6,0\r\n\n  Morrigan Ravenskind , 30,15,-1,D20,7\nBad,x,1,1,-,0";
+        CSVReader reader = new CSVReader(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        while (reader.nextRecord()) {
+            try {
+                System.out.println(reader.nextString() + " | " + reader.nextInt() + " | " + reader.nextInt() + " | "
+                        + reader.nextInt() + " | " + reader.nextDiceType() + " | " + reader.nextInt()
+                        + " | more fields: " + reader.hasField());
+            }
+            catch (InputMismatchException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package IO;
+
+import GameEngine.DiceType;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes CSV records straight to bytes.<br>
+ * <br>
+ * <p>
+ *     Fields are written in order with {@link #writeString(String)}, {@link #writeInt(int)}<br>
+ *     and {@link #writeDiceType(DiceType)}, and each record is finished with {@link #endRecord()}.<br>
+ *     Ints are converted to ASCII digits in place, and ASCII strings are copied char by char,<br>
+ *     so writing allocates nothing beyond the reused buffer.
+ * </p>
+ * <p>
+ *     Bytes are buffered until the buffer fills or {@link #flush()} is called.
+ * </p>
+ *
+ * @see CSVReader
+ */
+public class CSVWriter implements Flushable, Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_INT_LENGTH = 11; // "-2147483648"
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private boolean recordStarted; // Whether the current record has a field, so the next needs a comma.
+
+    /**
+     * Constructs a writer over a stream.
+     *
+     * @param out the stream to write
+     */
+    public CSVWriter(OutputStream out) {
+        this(Channels.newChannel(out));
+    }
+
+    /**
+     * Constructs a writer over a channel.
+     *
+     * @param channel the channel to write
+     */
+    public CSVWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.recordStarted = false;
+    }
+
+    /**
+     * Writes a string field. Surrounding whitespace is kept.
+     *
+     * @param field the field
+     * @throws IOException if writing fails
+     */
+    public void writeString(String field) throws IOException {
+        startField();
+
+        int length = field.length();
+        for (int i = 0; i < length; ++i) {
+            char c = field.charAt(i);
+            if (c >= 0x80) {
+                writeEncoded(field.substring(i));
+                return;
+            }
+
+            if (!buffer.hasRemaining()) drain();
+            buffer.put((byte) c);
+        }
+    }
+
+    /**
+     * Writes the rest of a string which is not plain ASCII, as UTF-8.
+     */
+    private void writeEncoded(String rest) throws IOException {
+        byte[] bytes = rest.getBytes(StandardCharsets.UTF_8);
+        int offset = 0;
+
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) drain();
+            int count = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    /**
+     * Writes an int field.
+     *
+     * @param field the field
+     * @throws IOException if writing fails
+     */
+    public void writeInt(int field) throws IOException {
+        startField();
+        if (buffer.remaining() < MAX_INT_LENGTH) drain();
+
+        long value = field; // Negating MIN_VALUE would overflow an int.
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+
+        // Digits are written from the end, once the length is known.
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) ++digits;
+
+        int end = buffer.position() + digits;
+        for (int i = end - 1; i >= buffer.position(); --i) {
+            buffer.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Writes a {@link DiceType} field. NONE is <code>-</code>.
+     *
+     * @param field the field
+     * @throws IOException if writing fails
+     */
+    public void writeDiceType(DiceType field) throws IOException {
+        writeString(field.toString());
+    }
+
+    /**
+     * Finishes the current record.
+     *
+     * @throws IOException if writing fails
+     */
+    public void endRecord() throws IOException {
+        if (!buffer.hasRemaining()) drain();
+        buffer.put((byte) '\n');
+        recordStarted = false;
+    }
+
+    private void startField() throws IOException {
+        if (recordStarted) {
+            if (!buffer.hasRemaining()) drain();
+            buffer.put((byte) ',');
+        }
+        recordStarted = true;
+    }
+
+    /**
+     * Writes out the buffered bytes.
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes out the buffered bytes, without flushing the channel itself.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Flushes, then closes the underlying channel.
+     *
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    public static void main(String[] args) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CSVWriter writer = new CSVWriter(bytes);
+
+        writer.writeString("Guinevere");
+        writer.writeInt(35);
+        writer.writeInt(-1);
+        writer.writeDiceType(DiceType.D6);
+        writer.writeInt(0);
+        writer.endRecord();
+        writer.writeString("\u00C9riu");
+        writer.writeInt(Integer.MIN_VALUE);
+        writer.writeInt(Integer.MAX_VALUE);
+        writer.writeDiceType(DiceType.NONE);
+        writer.endRecord();
+        writer.flush();
+
+        System.out.print(bytes.toString(StandardCharsets.UTF_8));
+    }
+}
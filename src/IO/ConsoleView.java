@@ -5,26 +5,49 @@ import GameObjects.Effects.Fortune;
 import GameObjects.MobileObjects.Knight;
 import GameObjects.MobileObjects.MOB;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 
 /**
- * Interacts with the player through IO streams.
+ * Interacts with the player through IO streams.<br>
+ * <br>
+ * <p>
+ *     Multi-line screens, such as knight lists, fortunes and battle rosters, are composed into one reused frame<br>
+ *     and printed at once. In buffered mode, output is also held in a large buffer instead of flushed line by line,<br>
+ *     and only flushed when the player is prompted, the game ends, or the buffer fills.<br>
+ *     Buffered mode suits output piped to a file, where every flush is a system call.
+ * </p>
  *
  * @see IO.GameView
  */
 public class ConsoleView implements GameView {
+    private static final int BUFFER_SIZE = 1 << 16;
+
     private final Scanner in;
     private final PrintStream out;
+    private final StringBuilder frame; // Reused for composing multi-line screens.
 
 
     /**
-     * Constructs an IO connection with the user through the console.
+     * Constructs an IO connection with the user through the console.<br>
+     * <br>
+     * Output is buffered when there is no interactive console, such as when it is piped,<br>
+     * and flushed when the program exits.
      */
     public ConsoleView() {
-        this(System.in, System.out);
+        this(System.in, (System.console() == null)
+                ? new PrintStream(new FileOutputStream(FileDescriptor.out), true)
+                : System.out, System.console() == null);
+
+        if (System.console() == null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(out::flush));
+        }
     }
 
     /**
@@ -34,8 +57,40 @@ public class ConsoleView implements GameView {
      * @param out the PrintStream to print information
      */
     public ConsoleView(InputStream in, PrintStream out) {
+        this(in, out, false);
+    }
+
+    /**
+     * Constructs an IO connection with the user with given IO streams, optionally buffering the output.<br>
+     * <br>
+     * <p>
+     *     Buffered output is flushed at every prompt and at the end of the game.<br>
+     *     Anything printed after must be flushed with {@link #flush()}.
+     * </p>
+     *
+     * @param in       the InputStream from the user
+     * @param out      the PrintStream to print information
+     * @param buffered whether to buffer output between prompts
+     */
+    public ConsoleView(InputStream in, PrintStream out, boolean buffered) {
         this.in = new Scanner(in);
-        this.out = out;
+        this.out = buffered ? new PrintStream(new BufferedOutputStream(out, BUFFER_SIZE), false) : out;
+        this.frame = new StringBuilder();
+    }
+
+    /**
+     * Writes out any buffered output.
+     */
+    public void flush() {
+        out.flush();
+    }
+
+    /**
+     * Prints the composed frame, and empties it for the next.
+     */
+    private void printFrame() {
+        out.append(frame);
+        frame.setLength(0);
     }
 
     /**
@@ -88,9 +143,23 @@ public class ConsoleView implements GameView {
     @Override
     public String displayMainMenu() {
         out.print("What would you like to do? ");
+        out.flush();
         return in.nextLine();
     }
 
+    /**
+     * Asks the player a question outside the game, such as their name when connecting to a server.
+     *
+     * @param question the question, printed before the answer on the same line
+     * @return the trimmed response line
+     * @throws NoSuchElementException if the input has ended
+     */
+    public String prompt(String question) throws NoSuchElementException {
+        out.print(question);
+        out.flush();
+        return in.nextLine().trim();
+    }
+
     /**
      * Displays a confirmation from saving.<br>
      * <br>
@@ -103,6 +172,20 @@ public class ConsoleView implements GameView {
         out.println();
     }
 
+    /**
+     * Displays a failure to save.<br>
+     * <br>
+     * "<i>Failed to save progress to {filepath}: {message}</i>"
+     *
+     * @param filepath  path of the save file
+     * @param exception the cause of the failure
+     */
+    @Override
+    public void saveFailed(String filepath, Exception exception) {
+        out.println("Failed to save progress to " + filepath + ": " + exception.getMessage());
+        out.println();
+    }
+
     /**
      * Prints a message for completing the game.<br>
      * <br>
@@ -112,6 +195,7 @@ public class ConsoleView implements GameView {
     public void endGame() {
         out.println("Enjoy your rest! Until another adventure.");
         out.println();
+        out.flush();
     }
 
     /**
@@ -125,6 +209,7 @@ public class ConsoleView implements GameView {
             "Unsure what to do, here are some options:\n" +
             "            ls or list all  - listing the knights\n" +
             "            list active  - list the active knights knights only\n" +
+            "            list all --page N --size K --sort order --name text - list one page of the knights\n" +
             "            show name or id - show the knight details card\n" +
             "            set active name or id - set knight as active (note: only 4 knights can be active)\n" +
             "            remove active name or id - remove a knight from active status (heals knight)\n" +
@@ -152,6 +237,7 @@ public class ConsoleView implements GameView {
 
         while (true) {
             out.print("Would you like to continue on your quest (y/n)? ");
+            out.flush();
 
             answerLine = in.nextLine();
             answer = (answerLine.isEmpty()) ? ' ' : answerLine.charAt(0);
@@ -208,9 +294,46 @@ public class ConsoleView implements GameView {
 
         // Lists the knights by `id: name`.
         for (Knight knight : knights) {
-            out.println(knight.getId() + ": " + knight.getName());
+            frame.append(knight.getId()).append(": ").append(knight.getName()).append(System.lineSeparator());
         }
-        out.println();
+        frame.append(System.lineSeparator());
+        printFrame();
+    }
+
+    /**
+     * Prints one page of the knights.<br>
+     * <br>
+     * <p>
+     *     Prints a header with the page number and knight count, then the knights line by line, with format<br>
+     *     <i>ID: name</i><br>
+     *     followed by the sorted stat when sorting by one.<br>
+     *     If no knights match, "<i>No knights to list</i>"
+     * </p>
+     *
+     * @param page the page to display
+     */
+    @Override
+    public void listPage(RosterView.Page page) {
+        if (page.getMatchCount() == 0) {
+            out.println("No knights to list");
+            out.println();
+            return;
+        }
+
+        RosterView.Order order = page.getOrder();
+        frame.append("Page ").append(page.getNumber()).append(" of ").append(page.getPageCount())
+                .append(" (").append(page.getMatchCount()).append(" knights, by ").append(order.getLabel()).append(')')
+                .append(System.lineSeparator());
+
+        for (Knight knight : page.getKnights()) {
+            frame.append(knight.getId()).append(": ").append(knight.getName());
+            if (order.hasStat()) {
+                frame.append(" (").append(order.getLabel()).append(' ').append(order.statOf(knight)).append(')');
+            }
+            frame.append(System.lineSeparator());
+        }
+        frame.append(System.lineSeparator());
+        printFrame();
     }
 
     /**
@@ -227,11 +350,12 @@ public class ConsoleView implements GameView {
      */
     @Override
     public void printFortunes(ArrayList<Knight> activeKnights) {
-        out.println("For this quest, our knights drew the following fortunes!");
+        frame.append("For this quest, our knights drew the following fortunes!").append(System.lineSeparator());
         for (Knight knight : activeKnights) {
-            out.println(knight.getName() + " drew\n" + knight.getActiveFortune());
+            frame.append(knight.getName()).append(" drew\n").append(knight.getActiveFortune()).append(System.lineSeparator());
         }
-        out.println();
+        frame.append(System.lineSeparator());
+        printFrame();
     }
 
     /**
@@ -249,16 +373,20 @@ public class ConsoleView implements GameView {
      */
     @Override
     public void printBattleText(ArrayList<MOB> monsters, ArrayList<Knight> activeKnights) {
-        out.println("Our heroes come across the following monsters. Prepare for battle!");
-        out.println("Knights                     Foes");
+        frame.append("Our heroes come across the following monsters. Prepare for battle!").append(System.lineSeparator());
+        frame.append("Knights                     Foes").append(System.lineSeparator());
         int i;
         for (i = 0; i < monsters.size(); ++i) {
-            out.printf("%-28s%s%n", activeKnights.get(i).getName(), monsters.get(i).getName());
+            String name = activeKnights.get(i).getName();
+            frame.append(name);
+            for (int pad = name.length(); pad < 28; ++pad) frame.append(' ');
+            frame.append(monsters.get(i).getName()).append(System.lineSeparator());
         }
         for (; i < activeKnights.size(); ++i) {
-            out.println(activeKnights.get(i).getName());
+            frame.append(activeKnights.get(i).getName()).append(System.lineSeparator());
         }
-        out.println();
+        frame.append(System.lineSeparator());
+        printFrame();
     }
 
     /**
@@ -4,6 +4,7 @@ import GameEngine.*;
 import GameObjects.MobileObjects.Knight;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
 
@@ -11,25 +12,48 @@ public class GameController {
     private final GameData data; // Game data.
     private final GameView view; // game view.
     private final CombatEngine engine; // combat engine.
+    private final SaveService saver; // Saves in the background.
+    private boolean exiting; // Whether the player asked to exit, so the game ends after the last saves are reported.
 
 
     public GameController(GameData data, GameView view, CombatEngine engine) {
         this.data = data;
         this.view = view;
         this.engine = engine;
+        this.saver = new SaveService(data);
     }
 
     /**
-     * Starts the game, causing it to run until a client exits. Starts with splashScreen, loops as long as processCommand returns true, prints endgame when loop is done.
+     * Starts the game, causing it to run until a client exits. Starts with splashScreen, loops as long as processCommand returns true, prints endgame when loop is done.<br>
+     * <br>
+     * Finished background saves are reported before each prompt, and unfinished ones are waited for and reported<br>
+     * once, after the loop, before the game ends.
      */
     public void start() {
         boolean proceed;
         view.splashScreen();
 
         do {
+            saver.report(view);
             proceed = processCommand(view.displayMainMenu());
         }
         while (proceed);
+
+        finishSaves();
+        if (exiting) view.endGame();
+    }
+
+    /**
+     * Waits for background saves to finish, and reports them.
+     */
+    private void finishSaves() {
+        try {
+            saver.close();
+        }
+        catch (IOException e) {
+            view.displayWarning(e.getMessage());
+        }
+        saver.report(view);
     }
 
     /**
@@ -72,7 +96,7 @@ public class GameController {
                 case "quit":
                 case "exit":
                 case "goodbye":
-                    view.endGame();
+                    exiting = true;
                     return false;
                 case "help":
                     view.printHelp();
@@ -92,14 +116,21 @@ public class GameController {
      * <br>
      * <p>
      *     Call format:<br>
-     *     <code>list {category}</code>
+     *     <code>list {category}</code><br>
+     *     or, for one page of all knights:<br>
+     *     <code>list [all] [--page N] [--size K] [--sort order] [--name text]</code>
      * </p>
      *
      * @param scanner scanner of category to list
      * @throws IllegalArgumentException if category is invalid
      */
     private void callList(Scanner scanner) throws IllegalArgumentException {
-        String category = (scanner.hasNext()) ? scanner.next() : "";
+        String category = (scanner.hasNext("--.*") || !scanner.hasNext()) ? "" : scanner.next();
+        if (scanner.hasNext() && (category.isEmpty() || category.equals("all"))) {
+            callListPage(scanner);
+            return;
+        }
+
         switch (category) {
             case "":
             case "all":
@@ -113,6 +144,84 @@ public class GameController {
         }
     }
 
+    /**
+     * Handles call to list one page of all knights.<br>
+     * <br>
+     * <p>
+     *     Options, in any order:
+     *     <ul>
+     *         <li><code>--page N</code> the page number (default: 1)</li>
+     *         <li><code>--size K</code> the knights per page (default: 20)</li>
+     *         <li><code>--sort order</code> id, name, xp, hp, armor, accuracy or power (default: id)</li>
+     *         <li><code>--name text</code> only knights whose names contain the text</li>
+     *     </ul>
+     * </p>
+     *
+     * @param scanner scanner of the options
+     * @throws IllegalArgumentException if an option is invalid
+     */
+    private void callListPage(Scanner scanner) throws IllegalArgumentException {
+        int page = 1;
+        int size = 20;
+        RosterView.Order order = RosterView.Order.ID;
+        String nameFilter = null;
+
+        while (scanner.hasNext()) {
+            String option = scanner.next();
+            if (!scanner.hasNext()) {
+                throw new IllegalArgumentException("Option '" + option + "' of 'list' requires a value.");
+            }
+
+            switch (option) {
+                case "--page":
+                    page = nextInt(scanner, option);
+                    break;
+                case "--size":
+                    size = nextInt(scanner, option);
+                    break;
+                case "--sort":
+                    order = RosterView.Order.of(scanner.next());
+                    break;
+                case "--name":
+                    nameFilter = nextWords(scanner);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Call to 'list' has improper option '" + option + "'.");
+            }
+        }
+        view.listPage(data.getPage(order, page, size, nameFilter));
+    }
+
+    /**
+     * Reads the int value of an option.
+     *
+     * @param scanner scanner of the value
+     * @param option  the option, for error messages
+     * @return the value
+     * @throws IllegalArgumentException if the value is not an int
+     */
+    private static int nextInt(Scanner scanner, String option) throws IllegalArgumentException {
+        if (!scanner.hasNextInt()) {
+            throw new IllegalArgumentException("Option '" + option + "' of 'list' requires a number.");
+        }
+        return scanner.nextInt();
+    }
+
+    /**
+     * Reads the words of an option's value, up to the next option.
+     *
+     * @param scanner scanner of the value
+     * @return the words, separated by spaces
+     */
+    private static String nextWords(Scanner scanner) {
+        ArrayList<String> words = new ArrayList<>();
+        do {
+            words.add(scanner.next());
+        }
+        while (scanner.hasNext() && !scanner.hasNext("--.*"));
+        return String.join(" ", words);
+    }
+
     /**
      * Handles call to show a given knight.
      * <br>
@@ -235,6 +344,11 @@ public class GameController {
      *     Call format:<br>
      *     <code>save {filename}</code>
      * </p>
+     * <p>
+     *     The save runs in the background (see {@link SaveService}), and is reported once it finishes.<br>
+     *     Saving back to a file which can take changes in place only writes the knights which changed<br>
+     *     (see {@link GameData#saveChanges(String)}).
+     * </p>
      *
      * @param scanner scanner of the user's intended save file
      * @throws IOException if failed to access file
@@ -275,8 +389,7 @@ public class GameController {
                 filename = saveNumber;
 // TODO ZYBOOKS               view.displayWarning("WARNING: saving file outside of saves folder.");
         }
-        data.save(filename);
-        view.saved(filename);
+        saver.requestChanges(filename);
     }
 
     public static void main(String[] args) {
@@ -2,38 +2,81 @@ package IO;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
+import GameEngine.EncounterGenerator;
+import GameEngine.WeightedTable;
 import GameObjects.Effects.Fortune;
 import GameObjects.MobileObjects.Knight;
 import GameObjects.MobileObjects.MOB;
+import GameObjects.MobileObjects.MOBPool;
 
 /**
  * Handles accessing and manipulating data during gameplay.
  */
 public abstract class GameData {
-    private final Random RANDOM;
+    private final RandomGenerator RANDOM;
 
     protected ArrayList<Fortune> fortunes;
     protected ArrayList<MOB> monsters;
+    protected ArrayList<Integer> fortuneWeights; // The draw weight of each fortune. Missing weights count as 1.
+    protected ArrayList<Integer> monsterWeights; // The spawn weight of each monster. Missing weights count as 1.
+    private WeightedTable<Fortune> fortuneTable; // Draws from fortunes. See rebuildTables().
+    private WeightedTable<MOB> monsterTable; // Draws from monsters. See rebuildTables().
+    private EncounterGenerator encounterGenerator; // Draws encounters to match the party. See rebuildTables().
     protected ArrayList<Knight> knights;
+    private int rosterVersion; // Changes whenever knights are replaced or added.
+    private final ArrayList<Knight> dirtyKnights; // Knights changed since they were last saved.
+    private final Consumer<Knight> dirtyListener; // Given to every knight, to fill dirtyKnights.
 
     private final int MAX_ACTIVE;
     protected ArrayList<Knight> activeKnights;
 
+    private final MOBPool monsterPool; // Recycles monsters between encounters.
+    private KnightIndex knightIndex; // Fast lookups into knights.
+    private boolean sharedRoster; // Whether knights and their index are another game data's, only to be read.
+    private XPJournal journal; // Records XP earned between saves, or null.
+    private final EnumMap<RosterView.Order, RosterView> rosterViews; // Sorted views of knights, made when first listed.
+    private final EnumMap<RosterView.Order, RosterView> sharedViews; // Views for game data sharing knights. Never updated.
+
 
 
     /**
      * Constructs an object to hold and access gamedata.
      */
     public GameData() {
-        RANDOM = new Random();
+        this(new Random());
+    }
+
+    /**
+     * Constructs an object to hold and access gamedata, drawing fortunes and monsters from the given random source.<br>
+     * <br>
+     * <p>
+     *     A seeded source (such as {@link SplittableRandom}) makes the draws reproducible.
+     * </p>
+     *
+     * @param random the source of random draws
+     */
+    public GameData(RandomGenerator random) {
+        RANDOM = random;
 
         this.fortunes = new ArrayList<>();
         this.monsters = new ArrayList<>();
+        this.fortuneWeights = new ArrayList<>();
+        this.monsterWeights = new ArrayList<>();
+        rebuildTables();
         this.knights = new ArrayList<>();
+        this.dirtyKnights = new ArrayList<>();
+        this.dirtyListener = dirtyKnights::add;
 
         MAX_ACTIVE = 4;
         activeKnights = new ArrayList<>();
+
+        monsterPool = new MOBPool();
+        knightIndex = new KnightIndex();
+        rosterViews = new EnumMap<>(RosterView.Order.class);
+        sharedViews = new EnumMap<>(RosterView.Order.class);
     }
 
     /**
@@ -60,6 +103,157 @@ public abstract class GameData {
         return knights;
     }
 
+    /**
+     * Replaces the knights, re-indexing them.
+     *
+     * @param knights the new list of knights
+     */
+    protected void setKnights(ArrayList<Knight> knights) {
+        if (sharedRoster) {
+            knightIndex = new KnightIndex(); // Leaves the shared index alone.
+            sharedRoster = false;
+        }
+        this.knights = knights;
+        knightIndex.rebuild(knights);
+        ++rosterVersion;
+
+        dirtyKnights.clear();
+        for (Knight knight : knights) track(knight);
+    }
+
+    /**
+     * Adds a knight to the end of the knights.
+     *
+     * @param knight the knight to add
+     * @throws IllegalStateException if the knights are shared (see {@link #shareRoster})
+     */
+    protected void addKnight(Knight knight) throws IllegalStateException {
+        if (sharedRoster) throw new IllegalStateException("Cannot add knights to a shared roster.");
+        checkIndex();
+        knights.add(knight);
+        knightIndex.add(knight);
+        ++rosterVersion;
+        track(knight);
+    }
+
+    /**
+     * Shares the knights of other game data, and their index, instead of holding a list and index of its own.<br>
+     * <br>
+     * <p>
+     *     Neither is copied, so sharing costs the same for any size of roster.<br>
+     *     Shared knights are only read, so a subclass that changes knights must swap them for its own copies,<br>
+     *     returned by {@link #knightAt}. The source must not change its knights while they are shared.<br>
+     *     The knights stop being shared when replaced with {@link #setKnights}.
+     * </p>
+     *
+     * @param source the game data to share with
+     */
+    protected void shareRoster(GameData source) {
+        knights = source.knights;
+        knightIndex = source.knightIndex;
+        sharedRoster = true;
+        ++rosterVersion;
+        dirtyKnights.clear();
+    }
+
+    /**
+     * Checks whether the knights are another game data's (see {@link #shareRoster}).
+     *
+     * @return whether the knights are shared
+     */
+    protected boolean isRosterShared() {
+        return sharedRoster;
+    }
+
+    /**
+     * Gets the knight at a position of the knights.<br>
+     * <br>
+     * Lookups go through here, so a subclass sharing its knights can return its own copies instead.
+     *
+     * @param position the position of the knight
+     * @return the knight
+     */
+    protected Knight knightAt(int position) {
+        return knights.get(position);
+    }
+
+    /**
+     * Starts tracking whether a knight needs saving.
+     *
+     * @param knight a knight of the roster
+     */
+    protected void track(Knight knight) {
+        knight.setDirtyListener(dirtyListener);
+        if (knight.isDirty()) dirtyKnights.add(knight);
+    }
+
+    /**
+     * Re-indexes the knights if the list was changed outside of {@link #setKnights} and {@link #addKnight}.
+     */
+    private void checkIndex() {
+        if (!sharedRoster && knightIndex.size() != knights.size()) {
+            knightIndex.rebuild(knights);
+            ++rosterVersion;
+        }
+    }
+
+    /**
+     * Gets the version of the roster, which changes whenever knights are replaced or added.<br>
+     * <br>
+     * While the version is unchanged, every knight keeps its position.
+     *
+     * @return the roster's version
+     */
+    public int getRosterVersion() {
+        checkIndex();
+        return rosterVersion;
+    }
+
+    /**
+     * Gets the knights changed since they were last saved, in the order they changed.
+     *
+     * @return an unmodifiable list of the dirty knights
+     * @see Knight#isDirty()
+     */
+    public List<Knight> getDirtyKnights() {
+        return Collections.unmodifiableList(dirtyKnights);
+    }
+
+    /**
+     * Marks the dirty knights as saved.
+     */
+    protected void markDirtyClean() {
+        for (Knight knight : dirtyKnights) knight.markClean();
+        dirtyKnights.clear();
+    }
+
+    /**
+     * Finds the position of a knight in the knights.
+     *
+     * @param knight the knight
+     * @return the knight's position, or -1 if not in the knights
+     */
+    protected int positionOf(Knight knight) {
+        checkIndex();
+        int position = knightIndex.positionById(knight.getId());
+        if (position >= 0 && knightAt(position) == knight) return position;
+
+        // Another knight has the same ID.
+        for (int i = 0; i < knights.size(); ++i) {
+            if (knightAt(i) == knight) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the maximum size of the active party.
+     *
+     * @return the max number of active knights
+     */
+    public int getMaxActive() {
+        return MAX_ACTIVE;
+    }
+
     /**
      * Gets the active knights.
      *
@@ -91,6 +285,47 @@ public abstract class GameData {
         return findKnight(nameOrId, knights);
     }
 
+    /**
+     * Lists one page of the knights.<br>
+     * <br>
+     * <p>
+     *     Each order's sorted view is kept between calls, and only re-sorts knights which changed since the last<br>
+     *     (see {@link RosterView}).
+     * </p>
+     *
+     * @param order      the order to list in
+     * @param number     the page number, starting at 1
+     * @param size       the number of knights on a page
+     * @param nameFilter the text names must contain, ignoring case, or null for every knight
+     * @return the page
+     * @throws IllegalArgumentException if the page number or size is not positive
+     */
+    public RosterView.Page getPage(RosterView.Order order, int number, int size, String nameFilter)
+            throws IllegalArgumentException {
+        return rosterViews.computeIfAbsent(order, RosterView::new).page(knights, number, size, nameFilter);
+    }
+
+    /**
+     * Gets a sorted view of the knights, for game data sharing them (see {@link #shareRoster}).<br>
+     * <br>
+     * <p>
+     *     Each order is sorted once, when first asked for, and never updated, as shared knights do not change.<br>
+     *     Synchronized, as game data sharing the knights may ask from many threads. Once made, views are only read.
+     * </p>
+     *
+     * @param order the order of the view
+     * @return the sorted view of the knights
+     */
+    protected synchronized RosterView getSharedView(RosterView.Order order) {
+        RosterView view = sharedViews.get(order);
+        if (view == null) {
+            view = new RosterView(order);
+            view.update(knights);
+            sharedViews.put(order, view);
+        }
+        return view;
+    }
+
     /**
      * Finds a Knight.
      *
@@ -120,7 +355,11 @@ public abstract class GameData {
     }
 
     /**
-     * Finds a knight.
+     * Finds a knight.<br>
+     * <br>
+     * <p>
+     *     Searches of the knights use the name index, other lists are scanned.
+     * </p>
      *
      * @param searchName the name of the knight
      * @param list       the list of knights to search
@@ -130,6 +369,12 @@ public abstract class GameData {
         searchName = searchName.trim().toLowerCase();
         String knightName;
 
+        if (list == knights) {
+            checkIndex();
+            int position = knightIndex.positionByName(searchName);
+            return (position < 0) ? Optional.empty() : Optional.of(knightAt(position));
+        }
+
         for (Knight knight : list) {
             knightName = knight.getName().toLowerCase();
 
@@ -141,13 +386,23 @@ public abstract class GameData {
     }
 
     /**
-     * Finds a knight.
+     * Finds a knight.<br>
+     * <br>
+     * <p>
+     *     Searches of the knights use the ID index, other lists are scanned.
+     * </p>
      *
      * @param id   the ID of the knight
      * @param list the list of knights to search
      * @return Optional of the knight from the list. If not found, Optional none.
      */
     protected Optional<Knight> findKnightID(int id, List<Knight> list) {
+        if (list == knights) {
+            checkIndex();
+            int position = knightIndex.positionById(id);
+            return (position < 0) ? Optional.empty() : Optional.of(knightAt(position));
+        }
+
         for (Knight knight : list) {
 
             if (knight.getId() == id) {
@@ -193,20 +448,67 @@ public abstract class GameData {
      * @return a fortune
      */
     public Fortune getRandomFortune() {
-        int randomIndex = RANDOM.nextInt(fortunes.size());
-        return fortunes.get(randomIndex);
+        return getRandomFortune(RANDOM);
     }
 
     /**
-     * Gets a random list of monsters.
+     * Gets a random {@link Fortune}, drawn from the given random source.
+     *
+     * @param random the source to draw from
+     * @return a fortune
+     */
+    public Fortune getRandomFortune(RandomGenerator random) {
+        checkTables();
+        return fortuneTable.draw(random);
+    }
+
+    /**
+     * Gets a random list of monsters, matched to the strength of the active knights.<br>
+     * <br>
+     * See {@link EncounterGenerator}.
      *
      * @return a list of MOBs.
      * @implNote may return an empty list.
      */
     public List<MOB> getRandomMonsters() {
         int encounterSize = RANDOM.nextInt(activeKnights.size()) + 1;
+        ArrayList<MOB> encounter = new ArrayList<>(encounterSize);
+
+        checkTables();
+        encounterGenerator.generate(encounterSize, encounterGenerator.targetDifficulty(activeKnights), RANDOM,
+                template -> encounter.add(template.copy()));
+        return encounter;
+    }
 
-        return getRandomMonsters(encounterSize);
+    /**
+     * Refills an encounter with a random list of monsters, recycling the monsters of the last encounter.<br>
+     * <br>
+     * <p>
+     *     The encounter is cleared, then filled with 1 to (number of active knights) monsters,<br>
+     *     matched to the strength of the active knights (see {@link EncounterGenerator}).<br>
+     *     Monsters are drawn from a pool, so every monster handed out by a previous refill is healed and reused.<br>
+     *     Monsters must not be kept past the next refill or {@link #recycleMonsters()}.
+     * </p>
+     *
+     * @param encounter the list to refill
+     * @return the refilled encounter
+     */
+    public List<MOB> refillEncounter(List<MOB> encounter) {
+        monsterPool.releaseAll();
+        encounter.clear();
+
+        int encounterSize = RANDOM.nextInt(activeKnights.size()) + 1;
+        checkTables();
+        encounterGenerator.generate(encounterSize, encounterGenerator.targetDifficulty(activeKnights), RANDOM,
+                template -> encounter.add(monsterPool.acquire(template)));
+        return encounter;
+    }
+
+    /**
+     * Returns every monster handed out by {@link #refillEncounter(List)} to the pool.
+     */
+    public void recycleMonsters() {
+        monsterPool.releaseAll();
     }
 
     /**
@@ -216,10 +518,21 @@ public abstract class GameData {
      * @return a list of MOBs
      */
     public List<MOB> getRandomMonsters(int encounterSize) {
+        return getRandomMonsters(encounterSize, RANDOM);
+    }
+
+    /**
+     * Gets a list with given size of random monsters, drawn from the given random source.
+     *
+     * @param encounterSize number of monsters to return
+     * @param random        the source to draw from
+     * @return a list of MOBs
+     */
+    public List<MOB> getRandomMonsters(int encounterSize, RandomGenerator random) {
         ArrayList<MOB> encounter = new ArrayList<>(encounterSize);
 
         for (int i = 0; i < encounterSize; ++i) {
-            encounter.add(getRandomMonsterCopy());
+            encounter.add(getRandomMonsterCopy(random));
         }
 
         return encounter;
@@ -231,8 +544,106 @@ public abstract class GameData {
      * @return a copy of a random monster.
      */
     public MOB getRandomMonsterCopy() {
-        int randomMOBIndex = RANDOM.nextInt(monsters.size());
-        return monsters.get(randomMOBIndex).copy();
+        return getRandomMonsterCopy(RANDOM);
+    }
+
+    /**
+     * Gets a new random monster, drawn from the given random source.
+     *
+     * @param random the source to draw from
+     * @return a copy of a random monster.
+     */
+    public MOB getRandomMonsterCopy(RandomGenerator random) {
+        return getRandomMonsterTemplate(random).copy();
+    }
+
+    /**
+     * Gets a random monster template, drawn from the given random source.<br>
+     * <br>
+     * <p>
+     *     The template is shared, not copied, so it must not be modified.<br>
+     *     Intended for reading stats, such as loading a {@link GameEngine.BattleState}.
+     * </p>
+     *
+     * @param random the source to draw from
+     * @return a random monster template.
+     */
+    public MOB getRandomMonsterTemplate(RandomGenerator random) {
+        checkTables();
+        return monsterTable.draw(random);
+    }
+
+    /**
+     * Replaces the fortunes, with their draw weights.
+     *
+     * @param fortunes the fortunes
+     * @param weights  the weight of each fortune, in the same order
+     */
+    protected void setFortunes(ArrayList<Fortune> fortunes, ArrayList<Integer> weights) {
+        this.fortunes = fortunes;
+        this.fortuneWeights = weights;
+        rebuildTables();
+    }
+
+    /**
+     * Replaces the monsters, with their spawn weights.
+     *
+     * @param monsters the monsters
+     * @param weights  the weight of each monster, in the same order
+     */
+    protected void setMonsters(ArrayList<MOB> monsters, ArrayList<Integer> weights) {
+        this.monsters = monsters;
+        this.monsterWeights = weights;
+        rebuildTables();
+    }
+
+    /**
+     * Rebuilds the weighted tables for drawing fortunes, monsters and encounters.<br>
+     * <br>
+     * Must be called after changing the fortunes, monsters or their weights.
+     */
+    protected void rebuildTables() {
+        fortuneTable = new WeightedTable<>(fortunes, weightsOf(fortuneWeights, fortunes.size()));
+        int[] spawnWeights = weightsOf(monsterWeights, monsters.size());
+        monsterTable = new WeightedTable<>(monsters, spawnWeights);
+        encounterGenerator = new EncounterGenerator(monsters, spawnWeights);
+    }
+
+    /**
+     * Shares the fortunes, monsters and their draw tables of other game data, instead of building new ones.<br>
+     * <br>
+     * <p>
+     *     The tables are only read while drawing, so they may be shared between threads,<br>
+     *     as long as neither game data changes its fortunes or monsters afterwards.
+     * </p>
+     *
+     * @param source the game data to share with
+     */
+    protected void shareTables(GameData source) {
+        fortunes = source.fortunes;
+        monsters = source.monsters;
+        fortuneWeights = source.fortuneWeights;
+        monsterWeights = source.monsterWeights;
+        fortuneTable = source.fortuneTable;
+        monsterTable = source.monsterTable;
+        encounterGenerator = source.encounterGenerator;
+    }
+
+    /**
+     * Rebuilds the tables if fortunes or monsters were added without rebuilding.
+     */
+    private void checkTables() {
+        if (fortuneTable.size() != fortunes.size() || monsterTable.size() != monsters.size()) {
+            rebuildTables();
+        }
+    }
+
+    private static int[] weightsOf(List<Integer> weights, int count) {
+        int[] result = new int[count];
+        for (int i = 0; i < count; ++i) {
+            result[i] = (i < weights.size()) ? weights.get(i) : 1;
+        }
+        return result;
     }
 
     /**
@@ -240,5 +651,130 @@ public abstract class GameData {
      *
      * @param filename file to save data
      */
-    public abstract void save(String filename) throws IOException;
+    public void save(String filename) throws IOException {
+        RosterSnapshot snapshot = snapshot();
+        save(filename, snapshot);
+        completeSave(filename, snapshot);
+    }
+
+    /**
+     * Writes a snapshot of the knights to the given file, without marking anything as saved.<br>
+     * <br>
+     * Only reads the snapshot, so may run on another thread.
+     *
+     * @param filename file to save data
+     * @param snapshot the knights to save
+     */
+    protected abstract void save(String filename, RosterSnapshot snapshot) throws IOException;
+
+    /**
+     * Checks whether {@link #saveChanges(String)} can write only the changes to a file.<br>
+     * <br>
+     * <p>
+     *     By default, it never can: CSV records have no fixed width, so a CSV save always rewrites the file,<br>
+     *     and XP earned between saves is only kept safe by an {@link XPJournal}.
+     * </p>
+     *
+     * @param filename file to save data
+     * @return whether saving changes is incremental
+     * @throws IOException if the file cannot be checked
+     */
+    public boolean canSaveChanges(String filename) throws IOException {
+        return false;
+    }
+
+    /**
+     * Saves the changes since the last save to the given file.<br>
+     * <br>
+     * <p>
+     *     By default, saves everything (see {@link #save(String)}).<br>
+     *     Formats with fixed-width records may instead write only the knights which changed<br>
+     *     (see {@link #getDirtyKnights()}), when {@link #canSaveChanges(String)} allows it.
+     * </p>
+     *
+     * @param filename file to save data
+     */
+    public void saveChanges(String filename) throws IOException {
+        save(filename);
+    }
+
+    /**
+     * Takes a snapshot of the knights' saved data, for saving while the game goes on.
+     *
+     * @return the snapshot
+     * @see SaveService
+     */
+    public RosterSnapshot snapshot() {
+        return RosterSnapshot.of(getKnights(), (journal != null) ? journal.getRecordCount() : 0, getRosterVersion());
+    }
+
+    /**
+     * Marks a snapshot as saved, once it has been written.<br>
+     * <br>
+     * <p>
+     *     Knights changed since the snapshot stay dirty, and the journal is only cleared<br>
+     *     if nothing has been journaled since the snapshot.
+     * </p>
+     *
+     * @param filename the file the snapshot was saved to
+     * @param snapshot the snapshot
+     * @throws IOException if the journal cannot be cleared
+     */
+    public void completeSave(String filename, RosterSnapshot snapshot) throws IOException {
+        for (int i = 0; i < snapshot.knights.length; ++i) {
+            Knight knight = snapshot.knights[i];
+            // Clean knights are left unwritten, as they may be shared with other sessions.
+            if (knight.isDirty() && knight.getSaveVersion() == snapshot.versions[i]) {
+                knight.markClean();
+            }
+        }
+        dirtyKnights.removeIf(knight -> !knight.isDirty());
+
+        if (journal == null || journal.getRecordCount() == snapshot.journalMark) {
+            checkpoint(filename);
+        }
+    }
+
+    /**
+     * Attaches a journal of XP, replaying it onto the knights first.<br>
+     * <br>
+     * Should be called after loading the journal's save file.
+     *
+     * @param journal the journal to replay and record to
+     * @return the number of entries replayed
+     * @throws IOException if the journal cannot be read
+     * @see #journalXP(List)
+     */
+    public int setJournal(XPJournal journal) throws IOException {
+        this.journal = journal;
+        return journal.replay(this);
+    }
+
+    /**
+     * Records the XP of knights in the journal, if there is one.
+     *
+     * @param knights the knights whose XP may have changed
+     */
+    public void journalXP(List<Knight> knights) {
+        if (journal == null) return;
+
+        try {
+            journal.record(knights);
+        }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Clears the journal after a successful save, if it belongs to the saved file.
+     *
+     * @param filename the file just saved
+     * @throws IOException if the journal cannot be cleared
+     */
+    protected void checkpoint(String filename) throws IOException {
+        if (journal != null && journal.isFor(filename)) {
+            journal.clear();
+        }
+    }
 }
@@ -0,0 +1,311 @@
+package IO;
+
+import GameEngine.CombatEngine;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Hosts the game for many players over TCP.<br>
+ * <br>
+ * <p>
+ *     Each connection is a session with its own {@link GameController}, playing through a {@link ConsoleView}<br>
+ *     over the socket's streams, and its own {@link SessionGameData}.<br>
+ *     Sessions share the server's fortunes, monsters and draw tables, which are never changed.
+ * </p>
+ * <p>
+ *     On connecting, players are asked their name, or given a random player ID if they have none.<br>
+ *     Each player's saves are kept in a folder of that name under the server's session folder,<br>
+ *     and the player's most recent save is loaded when they connect again.<br>
+ *     A player can only play one session at a time, so two sessions never save to the same folder.
+ * </p>
+ * <p>
+ *     Players spend most of a session idle at the prompt, so each session runs on its own thread.<br>
+ *     Where the JVM has virtual threads, sessions run on them, so idle sessions cost little more than their data.<br>
+ *     Otherwise, sessions fall back to a cached pool of platform threads.
+ * </p>
+ */
+public class GameServer implements Closeable {
+    private static final int OUTPUT_BUFFER_SIZE = 8192; // Kept small, as every idle session holds one.
+    private static final int THREAD_STACK_SIZE = 256 * 1024; // For platform threads, which reserve their stack up front.
+    private static final Pattern PLAYER_NAME = Pattern.compile("[a-z0-9_-]{1,36}"); // Safe as a folder name. Fits an ID.
+
+    private final GameData SHARED; // The data every session starts from.
+    private final Path SESSION_FOLDER; // Holds a save folder for each session.
+    private final ServerSocket SERVER;
+    private final ExecutorService SESSIONS;
+    private final SplittableRandom RANDOM; // Split for each session. Only used on the accepting thread.
+
+    private final Set<Socket> connections; // Open connections, closed when the server closes.
+    private final Set<String> players; // The players in a session.
+
+    /**
+     * Constructs a server listening on the given port.
+     *
+     * @param shared        the game data every session starts from, which must not change while serving
+     * @param port          the port to listen on, or 0 for any free port
+     * @param sessionFolder the folder to keep each player's save folder in
+     * @param random        the source of each session's random draws
+     * @throws IOException if the port cannot be opened
+     */
+    public GameServer(GameData shared, int port, Path sessionFolder, SplittableRandom random) throws IOException {
+        SHARED = shared;
+        SESSION_FOLDER = sessionFolder;
+        SERVER = new ServerSocket();
+        SERVER.setReuseAddress(true);
+        SERVER.bind(new InetSocketAddress(port), 1024);
+        SESSIONS = newSessionExecutor();
+        RANDOM = random;
+
+        connections = ConcurrentHashMap.newKeySet();
+        players = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Creates an executor which runs each task on a new virtual thread, if the JVM has them.<br>
+     * <br>
+     * Found by reflection, so the server still runs on JVMs without virtual threads.
+     *
+     * @return the executor for sessions
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        }
+        catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(null, runnable, "session-" + threadCount.incrementAndGet(), THREAD_STACK_SIZE);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return SERVER.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed, starting a session for each.
+     *
+     * @throws IOException if accepting fails, other than by closing the server
+     */
+    public void serve() throws IOException {
+        while (!SERVER.isClosed()) {
+            Socket socket;
+            try {
+                socket = SERVER.accept();
+            }
+            catch (SocketException e) {
+                if (SERVER.isClosed()) return;
+                throw e;
+            }
+
+            SplittableRandom random = RANDOM.split();
+            connections.add(socket);
+            SESSIONS.execute(() -> runSession(socket, random));
+        }
+    }
+
+    /**
+     * Plays one session over a connection, until the player exits or disconnects.
+     *
+     * @param socket the player's connection
+     * @param random the session's random source
+     */
+    private void runSession(Socket socket, SplittableRandom random) {
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            // The view flushes at every prompt, so a small buffer holds a whole screen.
+            PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE),
+                    false, StandardCharsets.UTF_8);
+            ConsoleView view = new ConsoleView(socket.getInputStream(), out);
+
+            try {
+                String player = askPlayer(view);
+                if (!players.add(player)) {
+                    view.displayWarning(player + " is already playing.");
+                }
+                else {
+                    try {
+                        play(player, view, random);
+                    }
+                    finally {
+                        players.remove(player);
+                    }
+                }
+            }
+            catch (NoSuchElementException e) {
+                // The player disconnected mid-session.
+            }
+            view.flush();
+        }
+        catch (IOException e) {
+            if (!SERVER.isClosed()) {
+                System.err.println("Session with " + socket.getRemoteSocketAddress() + ": " + e.getMessage());
+            }
+        }
+        finally {
+            connections.remove(socket);
+        }
+    }
+
+    /**
+     * Asks who is playing, whose name keys the folder of their saves.<br>
+     * <br>
+     * A blank answer makes a new player with a random ID, which they are told so they can continue later.
+     *
+     * @param view the player's view
+     * @return the player's name, lower-cased
+     * @throws NoSuchElementException if the player disconnects
+     */
+    private static String askPlayer(ConsoleView view) throws NoSuchElementException {
+        while (true) {
+            String name = view.prompt("Enter your player name, or nothing for a new player ID: ").toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                String id = UUID.randomUUID().toString();
+                view.displayWarning("Your player ID is " + id + ". Enter it next time to continue your game.");
+                return id;
+            }
+            if (PLAYER_NAME.matcher(name).matches()) return name;
+            view.displayWarning("Player names are up to 36 letters, digits, '-' and '_'.");
+        }
+    }
+
+    /**
+     * Plays a player's session, starting from their most recent save if they have one.
+     *
+     * @param player the player's name
+     * @param view   the player's view
+     * @param random the session's random source
+     * @throws NoSuchElementException if the player disconnects
+     */
+    private void play(String player, ConsoleView view, SplittableRandom random) throws NoSuchElementException {
+        SessionGameData data = new SessionGameData(SHARED, SESSION_FOLDER.resolve(player), random);
+        try {
+            Path save = data.loadLatestSave();
+            if (save != null) view.displayWarning("Welcome back, " + player + "! Loaded " + save.getFileName() + ".");
+        }
+        catch (IOException | RuntimeException e) {
+            // Includes malformed CSV. The broken save is left alone, unless the player saves over it.
+            view.displayWarning("Could not load your last save (" + e.getMessage() + "), so you start afresh.");
+        }
+
+        CombatEngine engine = new CombatEngine(data, view, random.split());
+        GameController controller = new GameController(data, view, engine);
+        controller.start();
+    }
+
+    /**
+     * Stops accepting connections and disconnects every session.
+     *
+     * @throws IOException if the server socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        SERVER.close();
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            }
+            catch (IOException ignored) {
+                // Closing anyway.
+            }
+        }
+        SESSIONS.shutdown();
+        try {
+            SESSIONS.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs a game server.<br>
+     * <br>
+     * <p>
+     *     Arguments are given as <code>--key=value</code>:
+     *     <ul>
+     *         <li><code>--port</code> the port to listen on (default: 4040)</li>
+     *         <li><code>--seed</code> the seed to reproduce sessions (default: unseeded)</li>
+     *         <li><code>--data</code> the game data folder</li>
+     *         <li><code>--save</code> the save file every session starts from, CSV or binary</li>
+     *         <li><code>--sessions</code> the folder for the players' save folders (default: SaveFiles/sessions)</li>
+     *     </ul>
+     * </p>
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        int port = 4040;
+        SplittableRandom random = new SplittableRandom();
+        String gameDataPath = "GameData/NormalData";
+        String saveDataPath = "SaveFiles/default.csv";
+        String sessionPath = "SaveFiles/sessions";
+
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length < 2) continue;
+
+            switch (option[0]) {
+                case "--port":
+                    port = Integer.parseInt(option[1]);
+                    break;
+                case "--seed":
+                    random = new SplittableRandom(Long.parseLong(option[1]));
+                    break;
+                case "--data":
+                    gameDataPath = option[1];
+                    break;
+                case "--save":
+                    saveDataPath = option[1];
+                    break;
+                case "--sessions":
+                    sessionPath = option[1];
+                    break;
+                default:
+                    System.err.println("Unknown option: " + option[0]);
+            }
+        }
+
+        GameData data = BinarySaveFormat.isBinary(saveDataPath)
+                ? new BinaryGameData(gameDataPath, saveDataPath, random.split())
+                : new CSVGameData(gameDataPath, saveDataPath, random.split());
+
+        try (GameServer server = new GameServer(data, port, Path.of(sessionPath), random)) {
+            System.out.println("Serving " + data.getKnights().size() + " knights on port " + server.getPort() + ".");
+            server.serve();
+        }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+}
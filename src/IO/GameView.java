@@ -12,6 +12,7 @@ import java.util.ArrayList;
  * <ul>
  *     <li>ls/list all  - listing the knights</li>
  *     <li>list active  - list the active knights knights only</li>
+ *     <li>list all --page N --size K --sort order --name text - list one page of the knights</li>
  *     <li>show knight - show the knight details card</li>
  *     <li>set active knight - set knight as active (note: only 4 knights can be active)</li>
  *     <li>remove active knight - remove a knight from active status (heals knight)</li>
@@ -60,6 +61,14 @@ public interface GameView {
      */
     void saved(String filename);
 
+    /**
+     * Displays a failure to save.
+     *
+     * @param filename  path of save file.
+     * @param exception the cause of the failure.
+     */
+    void saveFailed(String filename, Exception exception);
+
     /**
      * Displays a message for completing the game.
      */
@@ -96,6 +105,13 @@ public interface GameView {
      */
     void listKnights(ArrayList<Knight> knights);
 
+    /**
+     * Lists one page of the knights.
+     *
+     * @param page the page to display.
+     */
+    void listPage(RosterView.Page page);
+
     /**
      * Displays the fortunes of the active knights.
      *
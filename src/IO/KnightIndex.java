@@ -0,0 +1,230 @@
+package IO;
+
+import GameEngine.DiceType;
+import GameObjects.MobileObjects.Knight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Indexes a list of knights by ID and by name, for fast lookups in large rosters.<br>
+ * <br>
+ * <p>
+ *     IDs are kept in an open-addressing hash table of primitive ints.<br>
+ *     Names are lower-cased once, and every three-letter run (trigram) of a name is indexed,<br>
+ *     so a name search only checks the knights sharing the search's rarest trigram.
+ * </p>
+ * <p>
+ *     Lookups match a linear scan of the list: the first knight in list order wins.<br>
+ *     Positions can also be looked up instead of knights, so the index can be shared by game data<br>
+ *     which swap some knights of the list for their own copies (see {@link SessionGameData}).
+ * </p>
+ *
+ * @see GameData#findKnightID(int, List)
+ * @see GameData#findKnightName(String, List)
+ */
+public class KnightIndex {
+    private static final int GRAM = 3; // The length of an indexed name fragment.
+
+    private final ArrayList<Knight> knights; // The indexed knights, in list order.
+    private final ArrayList<String> lowerNames; // The lower-cased name of each knight.
+    private final HashMap<Long, Postings> trigrams; // The positions of knights containing each trigram.
+
+    private int[] idKeys; // The hash table of IDs.
+    private int[] idPositions; // The list position of each ID, plus one. 0 marks an empty slot.
+    private int idCount;
+
+    /**
+     * Positions of knights, in increasing order.
+     */
+    private static class Postings {
+        int[] positions = new int[4];
+        int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) return; // Repeated trigram in one name.
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+
+    /**
+     * Constructs an empty index.
+     */
+    public KnightIndex() {
+        knights = new ArrayList<>();
+        lowerNames = new ArrayList<>();
+        trigrams = new HashMap<>();
+        idKeys = new int[16];
+        idPositions = new int[16];
+    }
+
+    /**
+     * Rebuilds the index from a list of knights.
+     *
+     * @param list the knights to index
+     */
+    public void rebuild(List<Knight> list) {
+        knights.clear();
+        lowerNames.clear();
+        trigrams.clear();
+        idKeys = new int[Math.max(16, Integer.highestOneBit(Math.max(1, list.size())) * 4)];
+        idPositions = new int[idKeys.length];
+        idCount = 0;
+
+        for (Knight knight : list) add(knight);
+    }
+
+    /**
+     * Adds a knight to the end of the index.
+     *
+     * @param knight the knight to add
+     */
+    public void add(Knight knight) {
+        int position = knights.size();
+        String lowerName = knight.getName().toLowerCase();
+
+        knights.add(knight);
+        lowerNames.add(lowerName);
+        putId(knight.getId(), position);
+
+        for (int i = 0; i + GRAM <= lowerName.length(); ++i) {
+            trigrams.computeIfAbsent(trigramKey(lowerName, i), key -> new Postings()).add(position);
+        }
+    }
+
+    /**
+     * Gets the number of indexed knights.
+     *
+     * @return the knight count
+     */
+    public int size() {
+        return knights.size();
+    }
+
+    /**
+     * Finds the first knight with an ID.
+     *
+     * @param id the ID of the knight
+     * @return the knight, or null if not found
+     */
+    public Knight findById(int id) {
+        int position = positionById(id);
+        return (position < 0) ? null : knights.get(position);
+    }
+
+    /**
+     * Finds the list position of the first knight with an ID.
+     *
+     * @param id the ID of the knight
+     * @return the position of the knight, or -1 if not found
+     */
+    public int positionById(int id) {
+        int mask = idKeys.length - 1;
+        for (int slot = mix(id) & mask; idPositions[slot] != 0; slot = (slot + 1) & mask) {
+            if (idKeys[slot] == id) return idPositions[slot] - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the first knight whose name contains the search.
+     *
+     * @param lowerSearch the lower-cased search
+     * @return the knight, or null if not found
+     */
+    public Knight findByName(String lowerSearch) {
+        int position = positionByName(lowerSearch);
+        return (position < 0) ? null : knights.get(position);
+    }
+
+    /**
+     * Finds the list position of the first knight whose name contains the search.
+     *
+     * @param lowerSearch the lower-cased search
+     * @return the position of the knight, or -1 if not found
+     */
+    public int positionByName(String lowerSearch) {
+        if (lowerSearch.length() < GRAM) {
+            for (int i = 0; i < lowerNames.size(); ++i) {
+                if (lowerNames.get(i).contains(lowerSearch)) return i;
+            }
+            return -1;
+        }
+
+        // Only knights containing every trigram can match, so check those containing the rarest.
+        Postings rarest = null;
+        for (int i = 0; i + GRAM <= lowerSearch.length(); ++i) {
+            Postings postings = trigrams.get(trigramKey(lowerSearch, i));
+            if (postings == null) return -1;
+            if (rarest == null || postings.size < rarest.size) rarest = postings;
+        }
+
+        for (int i = 0; i < rarest.size; ++i) {
+            int position = rarest.positions[i];
+            if (lowerNames.get(position).contains(lowerSearch)) return position;
+        }
+        return -1;
+    }
+
+    /**
+     * Records the position of an ID, keeping the first if the ID repeats.
+     */
+    private void putId(int id, int position) {
+        if ((idCount + 1) * 2 > idKeys.length) growIds();
+
+        int mask = idKeys.length - 1;
+        int slot = mix(id) & mask;
+        while (idPositions[slot] != 0) {
+            if (idKeys[slot] == id) return;
+            slot = (slot + 1) & mask;
+        }
+        idKeys[slot] = id;
+        idPositions[slot] = position + 1;
+        ++idCount;
+    }
+
+    private void growIds() {
+        int[] oldKeys = idKeys;
+        int[] oldPositions = idPositions;
+        idKeys = new int[oldKeys.length * 2];
+        idPositions = new int[oldKeys.length * 2];
+        idCount = 0;
+
+        for (int i = 0; i < oldKeys.length; ++i) {
+            if (oldPositions[i] != 0) putId(oldKeys[i], oldPositions[i] - 1);
+        }
+    }
+
+    private static int mix(int id) {
+        int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static long trigramKey(String name, int start) {
+        return ((long) name.charAt(start) << 32) | ((long) name.charAt(start + 1) << 16) | name.charAt(start + 2);
+    }
+
+    public static void main(String[] args) {
+        KnightIndex index = new KnightIndex();
+        ArrayList<Knight> roster = new ArrayList<>();
+        roster.add(new Knight(1, "Arthur", 40, 16, 2, DiceType.D8, 0));
+        roster.add(new Knight(2, "Lancelot", 40, 16, 2, DiceType.D8, 0));
+        roster.add(new Knight(7, "Elaine Pendragon", 35, 14, 1, DiceType.D8, 0));
+        roster.add(new Knight(-1, "Morgan la Fay", 30, 12, 3, DiceType.D6, 0));
+        roster.add(new Knight(1000, "Galahad", 38, 15, 2, DiceType.D8, 0));
+        index.rebuild(roster);
+
+        System.out.println("ID 7: " + index.findById(7).getName());
+        System.out.println("ID -1: " + index.findById(-1).getName());
+        System.out.println("ID 3: " + index.findById(3));
+        System.out.println("'pendra': " + index.findByName("pendra").getName());
+        System.out.println("'la': " + index.findByName("la").getName());
+        System.out.println("'dragoon': " + index.findByName("dragoon"));
+        System.out.println("ID 1000 at: " + index.positionById(1000)); // Beyond the cached boxes of -128 to 127.
+    }
+}
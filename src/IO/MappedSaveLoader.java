@@ -0,0 +1,195 @@
+package IO;
+
+import GameObjects.MobileObjects.Knight;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.InputMismatchException;
+import java.util.stream.IntStream;
+
+/**
+ * Loads large knight save files by memory-mapping them and parsing in parallel.<br>
+ * <br>
+ * <p>
+ *     The file is split into chunks of about {@link #CHUNK_SIZE} bytes, each starting at the beginning of a line.<br>
+ *     Chunks are mapped with {@link FileChannel#map}, then parsed in two parallel passes:<br>
+ *     the first counts each chunk's records and lines, giving the ID of every chunk's first knight<br>
+ *     and the line it starts on, and the second parses the knights. IDs are assigned by line order, starting at 1,<br>
+ *     so the result is identical to {@link CSVGameData#parseKnights(CSVReader)}, and errors give the same line.
+ * </p>
+ */
+public class MappedSaveLoader {
+    public static final long MIN_PARALLEL_SIZE = 1 << 20; // Smaller files are faster to load sequentially.
+    public static final int CHUNK_SIZE = 8 << 20; // The target size of each chunk, in bytes.
+
+    private MappedSaveLoader() {}
+
+    /**
+     * Loads the knights of a save file.
+     *
+     * @param path the save file
+     * @return the knights, in file order
+     * @throws IOException if the file cannot be read
+     * @throws InputMismatchException if a record is malformed
+     */
+    public static ArrayList<Knight> load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long[] bounds = findChunks(channel);
+            int chunkCount = bounds.length - 1;
+
+            MappedByteBuffer[] chunks = new MappedByteBuffer[chunkCount];
+            for (int i = 0; i < chunkCount; ++i) {
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, bounds[i], bounds[i + 1] - bounds[i]);
+            }
+
+            int[] counts = new int[chunkCount];
+            int[] lines = new int[chunkCount]; // Including blank lines.
+            IntStream.range(0, chunkCount).parallel().forEach(i -> {
+                CSVReader reader = new CSVReader(chunks[i]);
+                counts[i] = reader.countRecords();
+                lines[i] = reader.getLineNumber();
+            });
+
+            // The first ID and line of each chunk follow every record and line before it.
+            int[] firstIds = new int[chunkCount];
+            int[] linesBefore = new int[chunkCount];
+            int total = 0;
+            int totalLines = 0;
+            for (int i = 0; i < chunkCount; ++i) {
+                firstIds[i] = total + 1;
+                linesBefore[i] = totalLines;
+                total += counts[i];
+                totalLines += lines[i];
+            }
+
+            Knight[] knights = new Knight[total];
+            InputMismatchException[] errors = new InputMismatchException[chunkCount];
+            IntStream.range(0, chunkCount).parallel().forEach(i -> {
+                CSVReader reader = new CSVReader(chunks[i], linesBefore[i]);
+                try {
+                    for (int j = 0; j < counts[i] && reader.nextRecord(); ++j) {
+                        knights[firstIds[i] - 1 + j] = CSVGameData.parseKnight(firstIds[i] + j, reader);
+                    }
+                }
+                catch (InputMismatchException e) {
+                    errors[i] = e; // Rethrown below, as the pool would rethrow a copy without its message.
+                }
+            });
+
+            // Report the first error in the file, as a sequential load would.
+            for (InputMismatchException error : errors) {
+                if (error != null) throw error;
+            }
+            return new ArrayList<>(Arrays.asList(knights));
+        }
+    }
+
+    /**
+     * Splits a file into chunks, each starting at the beginning of a line.
+     *
+     * @param channel the file
+     * @return the chunk boundaries, starting with 0 and ending with the file size
+     * @throws IOException if the file cannot be read
+     */
+    private static long[] findChunks(FileChannel channel) throws IOException {
+        long size = channel.size();
+        ArrayList<Long> bounds = new ArrayList<>();
+        ByteBuffer window = ByteBuffer.allocate(4096);
+
+        bounds.add(0L);
+        for (long target = CHUNK_SIZE; target < size; target += CHUNK_SIZE) {
+            long start = nextLineStart(channel, target, window);
+            if (start >= size) break;
+            if (start > bounds.get(bounds.size() - 1)) bounds.add(start);
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; ++i) result[i] = bounds.get(i);
+        return result;
+    }
+
+    /**
+     * Finds the first line starting at or after a position.
+     *
+     * @param channel  the file
+     * @param position the position to search from
+     * @param window   a buffer for reading
+     * @return the start of the line, or the file size if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, ByteBuffer window) throws IOException {
+        long offset = position - 1; // A line starts at position if the byte before it ends a line.
+
+        while (true) {
+            window.clear();
+            int read = channel.read(window, offset);
+            if (read <= 0) return channel.size();
+
+            for (int i = 0; i < read; ++i) {
+                if (window.get(i) == '\n') return offset + i + 1;
+            }
+            offset += read;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("knights", ".csv");
+        String[] names = {"Guinevere", "Morrigan Ravenskind", "Eriu", "Danu of Ireland", "Lancelot"};
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+            for (int i = 0; i < 500_000; ++i) {
+                out.println(names[i % names.length] + " " + i + "," + (20 + i % 30) + ",12," + (i % 3 - 1) + ",D6," + i);
+                if (i % 1000 == 0) out.println();
+            }
+        }
+
+        long start = System.nanoTime();
+        ArrayList<Knight> mapped = load(file);
+        System.out.printf("Mapped load: %d knights in %.1f ms%n", mapped.size(), (System.nanoTime() - start) / 1e6);
+
+        CSVGameData sequential = new CSVGameData("GameData/NormalData", "SaveFiles/default.csv");
+        start = System.nanoTime();
+        try (CSVReader reader = new CSVReader(Files.newInputStream(file))) {
+            sequential.parseKnights(reader);
+        }
+        System.out.printf("Sequential load: %d knights in %.1f ms%n",
+                sequential.getKnights().size(), (System.nanoTime() - start) / 1e6);
+
+        boolean identical = mapped.size() == sequential.getKnights().size();
+        for (int i = 0; identical && i < mapped.size(); ++i) {
+            Knight a = mapped.get(i);
+            Knight b = sequential.getKnights().get(i);
+            identical = a.getId().equals(b.getId()) && a.toCSV().equals(b.toCSV());
+        }
+        System.out.println("Identical: " + identical);
+
+        // Break a record far into the file, past the first chunk, and compare the reported lines.
+        ArrayList<String> lines = new ArrayList<>(Files.readAllLines(file));
+        int broken = lines.size() - 10;
+        lines.set(broken, "Mordred,lots,12,0,D6,0");
+        Files.write(file, lines);
+        try {
+            load(file);
+        }
+        catch (InputMismatchException e) {
+            System.out.println("Mapped error: " + e.getMessage());
+        }
+        try (CSVReader reader = new CSVReader(Files.newInputStream(file))) {
+            sequential.parseKnights(reader);
+        }
+        catch (InputMismatchException e) {
+            System.out.println("Sequential error: " + e.getMessage() + " (broke line " + (broken + 1) + ")");
+        }
+
+        Files.delete(file);
+    }
+}
@@ -0,0 +1,98 @@
+package IO;
+
+import GameObjects.MobileObjects.Knight;
+import GameObjects.MobileObjects.MOB;
+
+import java.util.ArrayList;
+
+/**
+ * A view which discards all output and never blocks for input.<br>
+ * <br>
+ * <p>
+ *     Used to drive the game headlessly, such as in batch simulations.<br>
+ *     The main menu always answers "<i>exit</i>" and {@link #checkContinue()} always declines.
+ * </p>
+ *
+ * @see IO.GameView
+ */
+public class NullGameView implements GameView {
+
+    /**
+     * Constructs a view which ignores all output.
+     */
+    public NullGameView() {}
+
+    @Override
+    public void displayWarning(String message) {}
+
+    @Override
+    public void displayException(Exception exception) {}
+
+    @Override
+    public void splashScreen() {}
+
+    /**
+     * Ends the session, as there is no player to ask.
+     *
+     * @return "<i>exit</i>"
+     */
+    @Override
+    public String displayMainMenu() {
+        return "exit";
+    }
+
+    @Override
+    public void saved(String filename) {}
+
+    @Override
+    public void saveFailed(String filename, Exception exception) {}
+
+    @Override
+    public void endGame() {}
+
+    @Override
+    public void printHelp() {}
+
+    /**
+     * Declines to continue, as there is no player to ask.
+     *
+     * @return false
+     */
+    @Override
+    public boolean checkContinue() {
+        return false;
+    }
+
+    @Override
+    public void showKnight(Knight knight) {}
+
+    @Override
+    public void knightNotFound() {}
+
+    @Override
+    public void listKnights(ArrayList<Knight> knights) {}
+
+    @Override
+    public void listPage(RosterView.Page page) {}
+
+    @Override
+    public void printFortunes(ArrayList<Knight> activeKnights) {}
+
+    @Override
+    public void printBattleText(ArrayList<MOB> monsters, ArrayList<Knight> activeKnights) {}
+
+    @Override
+    public void printBattleText(MOB dead) {}
+
+    @Override
+    public void printDefeated() {}
+
+    @Override
+    public void setActiveSucceeded(Knight knight) {}
+
+    @Override
+    public void setActiveFailed() {}
+
+    @Override
+    public void removeActiveSucceeded(Knight knight) {}
+}
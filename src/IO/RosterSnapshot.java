@@ -0,0 +1,81 @@
+package IO;
+
+import GameObjects.MobileObjects.Knight;
+
+import java.util.List;
+
+/**
+ * The knights' saved data at one moment, taken for saving (see {@link GameData#snapshot()}).<br>
+ * <br>
+ * <p>
+ *     A knight's name and base stats never change, so the snapshot only copies each knight's XP,<br>
+ *     into a plain array. Taking one allocates nothing per knight, and the snapshot can be written<br>
+ *     on another thread while the game goes on.
+ * </p>
+ */
+public final class RosterSnapshot {
+    final Knight[] knights; // Only their final fields may be read from other threads.
+    final int[] xp; // The XP of each knight when taken.
+    final int[] versions; // The save version of each knight when taken.
+    final long journalMark; // The journal's record count when taken.
+    final int rosterVersion; // The roster's version when taken (see GameData#getRosterVersion()).
+
+    RosterSnapshot(Knight[] knights, int[] xp, int[] versions, long journalMark, int rosterVersion) {
+        this.knights = knights;
+        this.xp = xp;
+        this.versions = versions;
+        this.journalMark = journalMark;
+        this.rosterVersion = rosterVersion;
+    }
+
+    /**
+     * Takes a snapshot of knights.
+     *
+     * @param knights the knights
+     * @return the snapshot
+     */
+    public static RosterSnapshot of(List<Knight> knights) {
+        return of(knights, 0, 0);
+    }
+
+    static RosterSnapshot of(List<Knight> knights, long journalMark, int rosterVersion) {
+        Knight[] sources = knights.toArray(new Knight[0]);
+        int[] xp = new int[sources.length];
+        int[] versions = new int[sources.length];
+
+        for (int i = 0; i < sources.length; ++i) {
+            xp[i] = sources[i].getXP();
+            versions[i] = sources[i].getSaveVersion();
+        }
+        return new RosterSnapshot(sources, xp, versions, journalMark, rosterVersion);
+    }
+
+    /**
+     * Gets the number of knights.
+     *
+     * @return the knight count
+     */
+    public int size() {
+        return knights.length;
+    }
+
+    /**
+     * Gets a knight, for reading its name and base stats.
+     *
+     * @param index the knight's position in the roster
+     * @return the knight
+     */
+    public Knight getKnight(int index) {
+        return knights[index];
+    }
+
+    /**
+     * Gets a knight's XP when the snapshot was taken.
+     *
+     * @param index the knight's position in the roster
+     * @return the knight's XP
+     */
+    public int getXP(int index) {
+        return xp[index];
+    }
+}
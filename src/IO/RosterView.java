@@ -0,0 +1,469 @@
+package IO;
+
+import GameEngine.DiceType;
+import GameObjects.MobileObjects.Knight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * A sorted view of a roster, for listing it a page at a time.<br>
+ * <br>
+ * <p>
+ *     The sorted order is kept between listings. Before each listing, only knights whose version has changed<br>
+ *     (see {@link Knight#getVersion()}) are taken out, sorted, and merged back in,<br>
+ *     so after a quest only the party is re-sorted, rather than the whole roster.<br>
+ *     Orders on keys which never change, such as names, are never re-sorted.
+ * </p>
+ * <p>
+ *     Pages are read by iterating the order, so listing never copies more than a page of knights.
+ * </p>
+ *
+ * @see GameData#getPage(Order, int, int, String)
+ */
+public class RosterView {
+
+    /**
+     * The orders a roster can be listed in. Ties are listed by ID.
+     */
+    public enum Order {
+        ID("id", Comparator.comparingInt(Knight::getId)),
+        NAME("name", Comparator.comparing(Knight::getName, String.CASE_INSENSITIVE_ORDER)),
+        XP("xp", Knight::getXP),
+        HP("hp", Knight::getHP),
+        ARMOR("armor", Knight::getArmor),
+        ACCURACY("accuracy", Knight::getAccuracy),
+        POWER("power", knight -> knight.getDamageDie().getFaces());
+
+        private final String label;
+        private final ToIntFunction<Knight> stat; // The stat sorted on, or null if not sorted by a stat.
+        private final Comparator<Knight> comparator;
+
+        /**
+         * An order on a key which never changes during play.
+         */
+        Order(String label, Comparator<Knight> key) {
+            this.label = label;
+            this.stat = null;
+            this.comparator = key.thenComparing(Knight::getId);
+        }
+
+        /**
+         * An order on a stat, highest first. Stats change during play.
+         */
+        Order(String label, ToIntFunction<Knight> stat) {
+            this.label = label;
+            this.stat = stat;
+            this.comparator = Comparator.comparingInt(stat).reversed().thenComparing(Knight::getId);
+        }
+
+        /**
+         * Gets the order's name, as typed in commands.
+         *
+         * @return the label of the order
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Checks whether the order sorts on a stat, listed alongside each knight.
+         *
+         * @return whether the order has a stat
+         */
+        public boolean hasStat() {
+            return stat != null;
+        }
+
+        /**
+         * Gets the stat the order sorts on.
+         *
+         * @param knight the knight
+         * @return the knight's stat
+         * @throws IllegalStateException if the order is not by a stat
+         */
+        public int statOf(Knight knight) throws IllegalStateException {
+            if (stat == null) throw new IllegalStateException("Order '" + label + "' is not by a stat.");
+            return stat.applyAsInt(knight);
+        }
+
+        /**
+         * Finds the order with the given label.
+         *
+         * @param label the label, in any case
+         * @return the matching order
+         * @throws IllegalArgumentException if no order has the label
+         */
+        public static Order of(String label) throws IllegalArgumentException {
+            for (Order order : values()) {
+                if (order.label.equalsIgnoreCase(label)) return order;
+            }
+            throw new IllegalArgumentException("Knights can be sorted by: " + Arrays.toString(values()).toLowerCase());
+        }
+    }
+
+    /**
+     * One page of a listing.
+     */
+    public static class Page {
+        private final List<Knight> knights;
+        private final int number;
+        private final int pageCount;
+        private final int matchCount;
+        private final Order order;
+        private final String nameFilter;
+
+        Page(List<Knight> knights, int number, int pageCount, int matchCount, Order order, String nameFilter) {
+            this.knights = knights;
+            this.number = number;
+            this.pageCount = pageCount;
+            this.matchCount = matchCount;
+            this.order = order;
+            this.nameFilter = nameFilter;
+        }
+
+        /**
+         * Gets the knights on the page, in order.
+         *
+         * @return the page's knights
+         */
+        public List<Knight> getKnights() {
+            return knights;
+        }
+
+        /**
+         * Gets the page's number, starting at 1.
+         *
+         * @return the page number
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * Gets the number of pages in the listing.
+         *
+         * @return the page count, at least 1
+         */
+        public int getPageCount() {
+            return pageCount;
+        }
+
+        /**
+         * Gets the number of knights in the listing, across every page.
+         *
+         * @return the number of matching knights
+         */
+        public int getMatchCount() {
+            return matchCount;
+        }
+
+        /**
+         * Gets the order of the listing.
+         *
+         * @return the order
+         */
+        public Order getOrder() {
+            return order;
+        }
+
+        /**
+         * Gets the name filter of the listing.
+         *
+         * @return the text names must contain, or null for every knight
+         */
+        public String getNameFilter() {
+            return nameFilter;
+        }
+    }
+
+    private final Order ORDER;
+
+    private List<Knight> roster; // The roster the order was built from.
+    private Knight[] order; // The roster's knights, sorted.
+    private int[] versions; // The version of each knight when it was put in order.
+
+    /**
+     * Constructs a view of a roster in the given order.<br>
+     * <br>
+     * The roster is sorted when first listed.
+     *
+     * @param order the order to list in
+     */
+    public RosterView(Order order) {
+        ORDER = order;
+    }
+
+    /**
+     * Gets the view's order.
+     *
+     * @return the order
+     */
+    public Order getOrder() {
+        return ORDER;
+    }
+
+    /**
+     * Brings the sorted order up to date with the roster.<br>
+     * <br>
+     * <p>
+     *     The roster is sorted from scratch if it was replaced or resized.<br>
+     *     Otherwise, only the knights which changed since they were last sorted are repositioned.
+     * </p>
+     *
+     * @param roster the roster to view
+     */
+    public void update(List<Knight> roster) {
+        if (roster != this.roster || order == null || order.length != roster.size()) {
+            rebuild(roster);
+            return;
+        }
+        if (!ORDER.hasStat()) return; // Only stats change.
+
+        // Split the order into unchanged knights, still sorted, and changed ones.
+        ArrayList<Knight> moved = new ArrayList<>();
+        int kept = 0;
+        for (int i = 0; i < order.length; ++i) {
+            Knight knight = order[i];
+            if (knight.getVersion() == versions[i]) {
+                order[kept] = knight;
+                versions[kept] = versions[i];
+                ++kept;
+            }
+            else {
+                moved.add(knight);
+            }
+        }
+        if (moved.isEmpty()) return;
+
+        moved.sort(ORDER.comparator);
+        merge(kept, moved);
+    }
+
+    /**
+     * Sorts the whole roster.
+     *
+     * @param roster the roster to view
+     */
+    private void rebuild(List<Knight> roster) {
+        this.roster = roster;
+        order = roster.toArray(new Knight[0]);
+        Arrays.sort(order, ORDER.comparator);
+
+        versions = new int[order.length];
+        for (int i = 0; i < order.length; ++i) versions[i] = order[i].getVersion();
+    }
+
+    /**
+     * Merges sorted knights into the sorted start of the order, from the back, filling the whole order.
+     *
+     * @param kept  the number of sorted knights at the start of the order
+     * @param moved the knights to merge in, sorted
+     */
+    private void merge(int kept, List<Knight> moved) {
+        int from = kept - 1;
+        int next = moved.size() - 1;
+
+        for (int to = order.length - 1; next >= 0; --to) {
+            Knight knight = moved.get(next);
+            if (from >= 0 && ORDER.comparator.compare(order[from], knight) > 0) {
+                order[to] = order[from];
+                versions[to] = versions[from];
+                --from;
+            }
+            else {
+                order[to] = knight;
+                versions[to] = knight.getVersion();
+                --next;
+            }
+        }
+    }
+
+    /**
+     * Iterates the roster in order, skipping knights whose names do not match.<br>
+     * <br>
+     * The order must be up to date (see {@link #update(List)}), and not updated during iteration.
+     *
+     * @param nameFilter the text names must contain, ignoring case, or null for every knight
+     * @return an iterator over the matching knights
+     */
+    public Iterator<Knight> iterator(String nameFilter) {
+        return new Iterator<>() {
+            private int position = advance(0);
+
+            private int advance(int from) {
+                while (from < order.length && !matches(order[from], nameFilter)) ++from;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return position < order.length;
+            }
+
+            @Override
+            public Knight next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Knight knight = order[position];
+                position = advance(position + 1);
+                return knight;
+            }
+        };
+    }
+
+    /**
+     * Lists one page of the roster.<br>
+     * <br>
+     * <p>
+     *     Pages past the end are clamped to the last page.
+     * </p>
+     *
+     * @param roster     the roster to view
+     * @param number     the page number, starting at 1
+     * @param size       the number of knights on a page
+     * @param nameFilter the text names must contain, ignoring case, or null for every knight
+     * @return the page
+     * @throws IllegalArgumentException if the page number or size is not positive
+     */
+    public Page page(List<Knight> roster, int number, int size, String nameFilter) throws IllegalArgumentException {
+        if (number < 1) throw new IllegalArgumentException("Page numbers start at 1.");
+        if (size < 1) throw new IllegalArgumentException("Pages must hold at least one knight.");
+
+        update(roster);
+        return page(iterator(nameFilter), number, size, nameFilter);
+    }
+
+    /**
+     * Lists one page of the roster, with some of its knights swapped for copies, which may have changed.<br>
+     * <br>
+     * <p>
+     *     The copies are sorted and merged into the order as it is iterated, so the view itself is only read,<br>
+     *     and many sessions sharing one roster can list it at once, each with their own copies.<br>
+     *     The order must be up to date with the roster (see {@link #update(List)}).
+     * </p>
+     *
+     * @param copies     the copies, by the knight of the roster each replaces
+     * @param number     the page number, starting at 1
+     * @param size       the number of knights on a page
+     * @param nameFilter the text names must contain, ignoring case, or null for every knight
+     * @return the page
+     * @throws IllegalArgumentException if the page number or size is not positive
+     */
+    public Page page(Map<Knight, Knight> copies, int number, int size, String nameFilter)
+            throws IllegalArgumentException {
+        if (number < 1) throw new IllegalArgumentException("Page numbers start at 1.");
+        if (size < 1) throw new IllegalArgumentException("Pages must hold at least one knight.");
+
+        ArrayList<Knight> moved = new ArrayList<>(copies.size());
+        for (Knight copy : copies.values()) {
+            if (matches(copy, nameFilter)) moved.add(copy);
+        }
+        moved.sort(ORDER.comparator);
+
+        Iterator<Knight> kept = iterator(nameFilter);
+        Iterator<Knight> merged = new Iterator<>() {
+            private Knight nextKept = advance();
+            private int nextMoved;
+
+            private Knight advance() {
+                while (kept.hasNext()) {
+                    Knight knight = kept.next();
+                    if (!copies.containsKey(knight)) return knight;
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return nextKept != null || nextMoved < moved.size();
+            }
+
+            @Override
+            public Knight next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                if (nextKept != null
+                        && (nextMoved == moved.size() || ORDER.comparator.compare(nextKept, moved.get(nextMoved)) < 0)) {
+                    Knight knight = nextKept;
+                    nextKept = advance();
+                    return knight;
+                }
+                return moved.get(nextMoved++);
+            }
+        };
+        return page(merged, number, size, nameFilter); // Copies keep their names, so match as often as the order.
+    }
+
+    /**
+     * Reads one page from an iterator over the matching knights of the order.
+     *
+     * @param iterator   the matching knights, in order
+     * @param number     the page number, starting at 1
+     * @param size       the number of knights on a page
+     * @param nameFilter the text names must contain, ignoring case, or null for every knight
+     * @return the page
+     */
+    private Page page(Iterator<Knight> iterator, int number, int size, String nameFilter) {
+        int matchCount = order.length;
+        if (nameFilter != null) {
+            matchCount = 0;
+            for (Knight knight : order) {
+                if (matches(knight, nameFilter)) ++matchCount;
+            }
+        }
+
+        int pageCount = Math.max(1, (int) ((matchCount + (long) size - 1) / size));
+        number = Math.min(number, pageCount);
+
+        long skip = (long) (number - 1) * size;
+        ArrayList<Knight> knights = new ArrayList<>(Math.min(size, matchCount));
+        for (long i = 0; i < skip; ++i) iterator.next();
+        while (iterator.hasNext() && knights.size() < size) knights.add(iterator.next());
+
+        return new Page(knights, number, pageCount, matchCount, ORDER, nameFilter);
+    }
+
+    /**
+     * Checks whether a knight's name contains the filter, ignoring case.
+     *
+     * @param knight     the knight
+     * @param nameFilter the text to find, or null to match any name
+     * @return whether the name matches
+     */
+    private static boolean matches(Knight knight, String nameFilter) {
+        if (nameFilter == null) return true;
+
+        String name = knight.getName();
+        for (int start = 0; start + nameFilter.length() <= name.length(); ++start) {
+            if (name.regionMatches(true, start, nameFilter, 0, nameFilter.length())) return true;
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        ArrayList<Knight> roster = new ArrayList<>();
+        String[] names = {"Guinevere", "Arthur", "Lancelot", "Gwain", "Morgan la Fay", "Elaine Pendragon", "Galahad"};
+        for (int i = 0; i < names.length; ++i) {
+            roster.add(new Knight(i + 1, names[i], 30 + i, 12, 1, DiceType.D8, (i * 37) % 50));
+        }
+
+        RosterView view = new RosterView(Order.XP);
+        Page page = view.page(roster, 1, 3, null);
+        System.out.println("Page " + page.getNumber() + " of " + page.getPageCount() + ":");
+        for (Knight knight : page.getKnights()) System.out.println(knight.getId() + ": " + knight.getName() + " " + knight.getXP());
+
+        System.out.println("Gwain gains 100 XP.");
+        roster.get(3).addXP(100);
+        page = view.page(roster, 1, 3, null);
+        for (Knight knight : page.getKnights()) System.out.println(knight.getId() + ": " + knight.getName() + " " + knight.getXP());
+
+        page = view.page(roster, 1, 10, "a");
+        System.out.println(page.getMatchCount() + " names contain 'a':");
+        for (Knight knight : page.getKnights()) System.out.println(knight.getId() + ": " + knight.getName());
+    }
+}
@@ -0,0 +1,81 @@
+package IO;
+
+import GameObjects.MobileObjects.Knight;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * Converts save files between the CSV and binary formats.<br>
+ * <br>
+ * <p>
+ *     Usage: <code>SaveConverter &lt;input&gt; &lt;output&gt;</code><br>
+ *     Each file's format is chosen by its extension, binary for {@value BinarySaveFormat#EXTENSION} and CSV otherwise.
+ * </p>
+ *
+ * @see BinarySaveFormat
+ */
+public class SaveConverter {
+
+    private SaveConverter() {}
+
+    /**
+     * Reads knights from a save file of either format.
+     *
+     * @param filepath the save file
+     * @return the knights, in file order
+     * @throws IOException if the file cannot be read
+     */
+    public static ArrayList<Knight> read(String filepath) throws IOException {
+        if (BinarySaveFormat.isBinary(filepath)) {
+            return BinarySaveFormat.read(Path.of(filepath));
+        }
+
+        ArrayList<Knight> knights = new ArrayList<>();
+        try (CSVReader reader = new CSVReader(new FileInputStream(filepath))) {
+            while (reader.nextRecord()) {
+                knights.add(CSVGameData.parseKnight(knights.size() + 1, reader));
+            }
+        }
+        return knights;
+    }
+
+    /**
+     * Writes knights to a save file of either format.
+     *
+     * @param knights  the knights to write
+     * @param filepath the save file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(ArrayList<Knight> knights, String filepath) throws IOException {
+        if (BinarySaveFormat.isBinary(filepath)) {
+            BinarySaveFormat.write(RosterSnapshot.of(knights), Path.of(filepath));
+            return;
+        }
+
+        AtomicFile.write(Path.of(filepath), channel -> {
+            CSVWriter file = new CSVWriter(channel);
+            CSVGameData.writeKnights(file, RosterSnapshot.of(knights));
+            file.flush();
+        });
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: SaveConverter <input> <output>");
+            return;
+        }
+
+        try {
+            long start = System.nanoTime();
+            ArrayList<Knight> knights = read(args[0]);
+            write(knights, args[1]);
+            System.out.printf("Converted %d knights in %.1f ms%n", knights.size(), (System.nanoTime() - start) / 1e6);
+        }
+        catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package IO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves the game in the background, so the player never waits on the disk.<br>
+ * <br>
+ * <p>
+ *     Each request takes a snapshot of the knights (see {@link GameData#snapshot()}),<br>
+ *     which a single background thread then writes. Requests for a file which is still waiting to be written<br>
+ *     are coalesced, only the latest snapshot being written.
+ * </p>
+ * <p>
+ *     Saving changes to a file which can take them in place (see {@link GameData#canSaveChanges(String)})<br>
+ *     is cheap, so it is done straight away on the game's thread, unless a background save is still unfinished.
+ * </p>
+ * <p>
+ *     Results are held until {@link #report(GameView)} is called from the game's thread,<br>
+ *     which marks the snapshot as saved and shows the result through the view.
+ * </p>
+ */
+public class SaveService implements Closeable {
+    private static final long KEEP_ALIVE_SECONDS = 30; // How long the idle save thread lingers.
+
+    /**
+     * The outcome of writing one snapshot.
+     */
+    private static final class Result {
+        final String filename;
+        final RosterSnapshot snapshot; // The snapshot written, or null if only changes were written.
+        final IOException error; // The failure, or null if saved.
+
+        Result(String filename, RosterSnapshot snapshot, IOException error) {
+            this.filename = filename;
+            this.snapshot = snapshot;
+            this.error = error;
+        }
+    }
+
+    private final GameData DATA;
+    private final ThreadPoolExecutor EXECUTOR; // A single daemon thread, started on demand.
+
+    private final Map<String, RosterSnapshot> pending; // Snapshots waiting to be written, by file. Guarded by itself.
+    private final Queue<Result> completed; // Results waiting to be reported.
+    private final AtomicInteger unfinished; // Background writes queued or running.
+
+    /**
+     * Constructs a save service for the given data.
+     *
+     * @param data the data to save
+     */
+    public SaveService(GameData data) {
+        DATA = data;
+        EXECUTOR = new ThreadPoolExecutor(0, 1, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "save-service");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        pending = new LinkedHashMap<>();
+        completed = new ConcurrentLinkedQueue<>();
+        unfinished = new AtomicInteger();
+    }
+
+    /**
+     * Requests a save of the current knights, returning without waiting for it.
+     *
+     * @param filename the file to save to
+     */
+    public void requestSave(String filename) {
+        RosterSnapshot snapshot = DATA.snapshot();
+
+        synchronized (pending) {
+            // A waiting write for the file will pick up the newer snapshot.
+            if (pending.put(filename, snapshot) != null) return;
+        }
+        unfinished.incrementAndGet();
+        EXECUTOR.execute(() -> write(filename));
+    }
+
+    /**
+     * Requests a save of only the changes since the last save, writing them now when possible.<br>
+     * <br>
+     * <p>
+     *     The changes are written on the game's thread if the file can take them in place<br>
+     *     and every background save has finished and been reported, so none can overwrite them.<br>
+     *     Otherwise, falls back to a full save in the background (see {@link #requestSave(String)}).
+     * </p>
+     *
+     * @param filename the file to save to
+     */
+    public void requestChanges(String filename) {
+        try {
+            if (unfinished.get() > 0 || !completed.isEmpty() || !DATA.canSaveChanges(filename)) {
+                requestSave(filename);
+                return;
+            }
+            DATA.saveChanges(filename);
+            completed.add(new Result(filename, null, null));
+        }
+        catch (IOException e) {
+            completed.add(new Result(filename, null, e));
+        }
+    }
+
+    /**
+     * Writes the latest snapshot for a file, on the save thread.
+     *
+     * @param filename the file to save to
+     */
+    private void write(String filename) {
+        RosterSnapshot snapshot;
+        synchronized (pending) {
+            snapshot = pending.remove(filename);
+        }
+
+        try {
+            DATA.save(filename, snapshot);
+            completed.add(new Result(filename, snapshot, null));
+        }
+        catch (IOException e) {
+            completed.add(new Result(filename, snapshot, e));
+        }
+        finally {
+            unfinished.decrementAndGet();
+        }
+    }
+
+    /**
+     * Reports every finished save through the view, marking the saved snapshots as saved.<br>
+     * <br>
+     * Must be called from the game's thread.
+     *
+     * @param view the view to report to
+     */
+    public void report(GameView view) {
+        Result result;
+        while ((result = completed.poll()) != null) {
+            if (result.error != null) {
+                view.saveFailed(result.filename, result.error);
+                continue;
+            }
+
+            if (result.snapshot != null) {
+                try {
+                    DATA.completeSave(result.filename, result.snapshot);
+                }
+                catch (IOException e) {
+                    System.err.println(e.getMessage());
+                }
+            }
+            view.saved(result.filename);
+        }
+    }
+
+    /**
+     * Waits for every requested save to be written, then stops the save thread.
+     *
+     * @throws IOException if interrupted while waiting
+     */
+    @Override
+    public void close() throws IOException {
+        EXECUTOR.shutdown();
+        try {
+            EXECUTOR.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while saving.", e);
+        }
+    }
+}
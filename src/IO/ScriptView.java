@@ -0,0 +1,257 @@
+package IO;
+
+import GameObjects.MobileObjects.Knight;
+import GameObjects.MobileObjects.MOB;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+/**
+ * A view which reads its commands from a script, for running the game unattended.<br>
+ * <br>
+ * <p>
+ *     Each line of the script is one command, as typed at the main menu (see {@link GameView}).<br>
+ *     Blank lines and lines starting with <code>#</code> are skipped. The game exits at the end of the script.
+ * </p>
+ * <p>
+ *     Quests take a number of rounds: <code>quest 1000 rounds</code> fights up to 1000 battles,<br>
+ *     answering {@link #checkContinue()} without a prompt. A plain <code>quest</code> fights one.<br>
+ *     A quest whose rounds cannot be read is an error, and skipped, so a script never runs less than it says.
+ * </p>
+ * <p>
+ *     Game output is discarded. Errors and warnings are logged with their script line, finished saves are logged,<br>
+ *     and a summary is logged when the script ends.
+ * </p>
+ */
+public class ScriptView extends NullGameView {
+    private final BufferedReader script;
+    private final PrintStream log;
+
+    private int lineNumber; // The line of the current command.
+    private int roundsLeft; // Battles left in the current quest, after this one.
+
+    private int commands;
+    private int battles;
+    private int defeats;
+    private int errors;
+
+    /**
+     * Constructs a view reading the given script file.
+     *
+     * @param script the path of the script
+     * @param log    the stream to log errors and the summary
+     * @throws IOException if the script cannot be opened
+     */
+    public ScriptView(Path script, PrintStream log) throws IOException {
+        this(Files.newBufferedReader(script, StandardCharsets.UTF_8), log);
+    }
+
+    /**
+     * Constructs a view reading the given script.
+     *
+     * @param script the script's lines
+     * @param log    the stream to log errors and the summary
+     */
+    public ScriptView(BufferedReader script, PrintStream log) {
+        this.script = script;
+        this.log = log;
+    }
+
+    /**
+     * Reads the next command of the script.<br>
+     * <br>
+     * <p>
+     *     A quest's round count is taken off the command, and used by {@link #checkContinue()}.
+     * </p>
+     *
+     * @return the next command, or "<i>exit</i>" at the end of the script
+     */
+    @Override
+    public String displayMainMenu() {
+        while (true) {
+            String line = nextLine();
+            if (line == null) return "exit";
+
+            ++commands;
+            roundsLeft = 0;
+            String command = parseRounds(line);
+            if (command != null) return command;
+        }
+    }
+
+    /**
+     * Reads the next line of the script with a command.
+     *
+     * @return the trimmed line, or null at the end of the script
+     */
+    private String nextLine() {
+        try {
+            String line;
+            do {
+                line = script.readLine();
+                if (line == null) {
+                    script.close();
+                    return null;
+                }
+                ++lineNumber;
+                line = line.trim();
+            }
+            while (line.isEmpty() || line.startsWith("#"));
+            return line;
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException("Line " + (lineNumber + 1) + " of script could not be read.", e);
+        }
+    }
+
+    /**
+     * Takes the round count off a quest command, such as <code>quest 1000 rounds</code>.
+     *
+     * @param line the command
+     * @return the command without its round count, or null if the round count is invalid
+     */
+    private String parseRounds(String line) {
+        String[] words = line.split("\\s+");
+        switch (words[0].toLowerCase()) {
+            case "explore":
+            case "adventure":
+            case "quest":
+                break;
+            default:
+                return line;
+        }
+        if (words.length < 2) return line;
+
+        boolean roundsWord = words.length == 3
+                && (words[2].equalsIgnoreCase("rounds") || words[2].equalsIgnoreCase("round"));
+        if (words.length > 3 || (words.length == 3 && !roundsWord)) {
+            return invalidRounds(line);
+        }
+
+        try {
+            int rounds = Integer.parseInt(words[1]);
+            if (rounds < 1) {
+                logLine("a quest needs at least one round.");
+                ++errors;
+                return null;
+            }
+            roundsLeft = rounds - 1;
+            return words[0];
+        }
+        catch (NumberFormatException e) {
+            return invalidRounds(line);
+        }
+    }
+
+    /**
+     * Logs a quest command whose round count cannot be read, which is skipped rather than run as one battle.
+     *
+     * @param line the command
+     * @return null, to skip the command
+     */
+    private String invalidRounds(String line) {
+        logLine("cannot read the rounds of '" + line + "', written as 'quest 1000 rounds'.");
+        ++errors;
+        return null;
+    }
+
+    /**
+     * Continues the quest until its rounds are used up.
+     *
+     * @return whether the quest has rounds left
+     */
+    @Override
+    public boolean checkContinue() {
+        if (roundsLeft <= 0) return false;
+        --roundsLeft;
+        return true;
+    }
+
+    @Override
+    public void printBattleText(ArrayList<MOB> monsters, ArrayList<Knight> activeKnights) {
+        ++battles;
+    }
+
+    @Override
+    public void printDefeated() {
+        ++defeats;
+    }
+
+    @Override
+    public void displayWarning(String message) {
+        logLine("warning: " + message);
+    }
+
+    @Override
+    public void displayException(Exception exception) {
+        ++errors;
+        logLine(exception.getMessage());
+    }
+
+    @Override
+    public void saved(String filename) {
+        log.println("Saved " + filename + "."); // Saves finish in the background, so have no line.
+    }
+
+    @Override
+    public void saveFailed(String filename, Exception exception) {
+        ++errors;
+        log.println("Failed to save " + filename + ": " + exception.getMessage());
+    }
+
+    @Override
+    public void setActiveFailed() {
+        ++errors;
+        logLine("the party is full.");
+    }
+
+    /**
+     * Logs a summary of the run.
+     */
+    @Override
+    public void endGame() {
+        log.printf("Script finished: %d commands, %d battles, %d defeats, %d errors.%n",
+                commands, battles, defeats, errors);
+        log.flush();
+    }
+
+    /**
+     * Gets the number of commands which failed, including failed saves.
+     *
+     * @return the error count
+     */
+    public int getErrorCount() {
+        return errors;
+    }
+
+    private void logLine(String message) {
+        log.println("Line " + lineNumber + ": " + message);
+    }
+
+    public static void main(String[] args) {
+        String script = "# A short run.\n" +
+                "set active 1\n" +
+                "\n" +
+                "quest 3 rounds\n" +
+                "quest 0 rounds\n" +
+                "quest abc rounds\n" +
+                "quest 5 turns\n" +
+                "set active nobody\n";
+        ScriptView view = new ScriptView(new BufferedReader(new StringReader(script)), System.out);
+
+        String command;
+        while (!(command = view.displayMainMenu()).equals("exit")) {
+            System.out.print("'" + command + "' continues:");
+            while (view.checkContinue()) System.out.print(" y");
+            System.out.println();
+        }
+        view.endGame();
+    }
+}
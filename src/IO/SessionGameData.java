@@ -0,0 +1,273 @@
+package IO;
+
+import GameEngine.DiceType;
+import GameObjects.MobileObjects.Knight;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The game data of one player's session on a shared server.<br>
+ * <br>
+ * <p>
+ *     The fortunes, monsters and their draw tables are shared with the server's game data, which is never changed.<br>
+ *     A new session shares the server's knights too, with their list, index and sorted views,<br>
+ *     and only copies a knight when it joins the party, as only the party is changed by quests.<br>
+ *     Lookups and listings see the session's copies in place of the server's knights (see {@link #knightAt}),<br>
+ *     so a session costs the same for any size of roster, plus a copy of each knight it has played.<br>
+ *     A session loaded from a save holds its own copy of every knight, with its own index.
+ * </p>
+ * <p>
+ *     Saves are kept in the session's own folder. Only the file name of a save is used,<br>
+ *     so <code>save SaveFiles/one.csv</code> writes <code>one.csv</code> in the session's folder.<br>
+ *     Files ending in {@value BinarySaveFormat#EXTENSION} are saved in the binary format, others as CSV.
+ * </p>
+ *
+ * @see GameServer
+ */
+public class SessionGameData extends GameData {
+    private final Path SAVE_FOLDER; // Where the session's saves are kept.
+
+    private final GameData SHARED; // The server's game data, whose knights are copied before they change.
+    private final IdentityHashMap<Knight, Knight> copies; // Copies of the knights the session played, by shared knight.
+    private final List<Knight> roster; // The knights, as the session sees them.
+
+    /**
+     * Constructs a session starting from the shared roster.
+     *
+     * @param shared     the server's game data
+     * @param saveFolder the folder for the session's saves, created on the first save
+     * @param random     the session's source of random draws
+     */
+    public SessionGameData(GameData shared, Path saveFolder, RandomGenerator random) {
+        super(random);
+        SAVE_FOLDER = saveFolder;
+        SHARED = shared;
+        copies = new IdentityHashMap<>();
+        roster = new RosterList();
+
+        shareTables(shared);
+        shareRoster(shared);
+    }
+
+    /**
+     * The knights, read through {@link #knightAt}.
+     */
+    private class RosterList extends AbstractList<Knight> implements RandomAccess {
+        @Override
+        public Knight get(int position) {
+            return knightAt(position);
+        }
+
+        @Override
+        public int size() {
+            return knights.size();
+        }
+    }
+
+    /**
+     * Gets the folder the session saves to.
+     *
+     * @return the save folder
+     */
+    public Path getSaveFolder() {
+        return SAVE_FOLDER;
+    }
+
+    /**
+     * Finds the most recent save in the session's folder.
+     *
+     * @return the path of the save, or null if the session has none
+     * @throws IOException if the folder cannot be read
+     */
+    public Path findLatestSave() throws IOException {
+        if (!Files.isDirectory(SAVE_FOLDER)) return null;
+
+        Path latest = null;
+        FileTime latestTime = null;
+        try (DirectoryStream<Path> saves = Files.newDirectoryStream(SAVE_FOLDER,
+                path -> Files.isRegularFile(path) && !path.toString().endsWith(AtomicFile.TEMP_SUFFIX))) {
+            for (Path save : saves) {
+                FileTime time = Files.getLastModifiedTime(save);
+                if (latestTime == null || time.compareTo(latestTime) > 0) {
+                    latest = save;
+                    latestTime = time;
+                }
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Replaces the roster with the session's most recent save, if it has one.<br>
+     * <br>
+     * The party must be empty, as its knights would no longer be on the roster.
+     *
+     * @return the loaded save, or null if the session has none
+     * @throws IOException if the save cannot be read
+     * @throws IllegalStateException if the party is not empty
+     */
+    public Path loadLatestSave() throws IOException, IllegalStateException {
+        if (!getActiveKnights().isEmpty()) throw new IllegalStateException("Cannot load a save with a party out.");
+
+        Path save = findLatestSave();
+        if (save == null) return null;
+
+        ArrayList<Knight> knights = SaveConverter.read(save.toString());
+        copies.clear();
+        setKnights(knights);
+        return save;
+    }
+
+    /**
+     * Adds a knight to the party, first copying it if it is still the server's.
+     *
+     * @param knight the knight to activate
+     * @return true if the knight was added, false if the party is full
+     */
+    @Override
+    public boolean setActive(Knight knight) {
+        return super.setActive(own(knight));
+    }
+
+    /**
+     * Swaps a knight shared with the server for the session's own copy.
+     *
+     * @param knight a knight of the roster
+     * @return the session's own knight
+     */
+    private Knight own(Knight knight) {
+        if (!isRosterShared()) return knight;
+
+        int position = positionOf(knight);
+        if (position < 0 || knights.get(position) != knight) return knight; // Not shared, or already copied.
+
+        Knight copy = knight.copy();
+        copies.put(knight, copy);
+        track(copy);
+        return copy;
+    }
+
+    /**
+     * Gets the knight at a position, or the session's copy of it.
+     *
+     * @param position the position of the knight
+     * @return the knight
+     */
+    @Override
+    protected Knight knightAt(int position) {
+        Knight knight = knights.get(position);
+        if (copies.isEmpty()) return knight;
+        return copies.getOrDefault(knight, knight);
+    }
+
+    /**
+     * Gets the knights, with the session's copies in place of the server's knights.
+     *
+     * @return the knights, as a read-only list
+     */
+    @Override
+    public List<Knight> getKnights() {
+        return isRosterShared() ? roster : knights;
+    }
+
+    /**
+     * Lists one page of the knights.<br>
+     * <br>
+     * While the knights are shared, the server's sorted view is listed with the session's copies merged in.
+     *
+     * @param order      the order to list in
+     * @param number     the page number, starting at 1
+     * @param size       the number of knights on a page
+     * @param nameFilter the text names must contain, ignoring case, or null for every knight
+     * @return the page
+     * @throws IllegalArgumentException if the page number or size is not positive
+     */
+    @Override
+    public RosterView.Page getPage(RosterView.Order order, int number, int size, String nameFilter)
+            throws IllegalArgumentException {
+        if (!isRosterShared()) return super.getPage(order, number, size, nameFilter);
+        return SHARED.getSharedView(order).page(copies, number, size, nameFilter);
+    }
+
+    /**
+     * Finds where a save file goes in the session's folder.
+     *
+     * @param filename the requested save file
+     * @return the path in the save folder
+     * @throws IOException if the file name is not a plain file name
+     */
+    Path resolve(String filename) throws IOException {
+        Path name = Path.of(filename).getFileName();
+        if (name == null || name.toString().equals("..") || name.toString().equals(".")) {
+            throw new IOException("Cannot save to '" + filename + "'.");
+        }
+        return SAVE_FOLDER.resolve(name);
+    }
+
+    /**
+     * Writes a snapshot of the knights to a file in the session's folder.
+     *
+     * @param filename the requested save file
+     * @param snapshot the knights to save
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    protected void save(String filename, RosterSnapshot snapshot) throws IOException {
+        Path path = resolve(filename);
+        Files.createDirectories(SAVE_FOLDER);
+
+        if (BinarySaveFormat.isBinary(path.toString())) {
+            BinarySaveFormat.write(snapshot, path);
+            return;
+        }
+        AtomicFile.write(path, channel -> {
+            CSVWriter file = new CSVWriter(channel);
+            CSVGameData.writeKnights(file, snapshot);
+            file.flush();
+        });
+    }
+
+    public static void main(String[] args) {
+        GameData server = new CSVGameData("GameData/NormalData", "SaveFiles/default.csv", new SplittableRandom(1));
+        for (int id = server.getKnights().size() + 1; id <= 100_000; ++id) {
+            server.addKnight(new Knight(id, "Squire " + id, 30, 12, 1, DiceType.D6, 0));
+        }
+        server.getSharedView(RosterView.Order.XP); // Sorted once, before any session lists.
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heap = runtime.totalMemory() - runtime.freeMemory();
+        long start = System.nanoTime();
+
+        ArrayList<SessionGameData> sessions = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            sessions.add(new SessionGameData(server, Path.of("SaveFiles", "sessions", "demo-" + i), new SplittableRandom(i)));
+        }
+        long time = System.nanoTime() - start;
+        System.gc();
+        System.out.printf("1000 sessions of %d knights: %.1f KiB and %.1f us each%n", server.getKnights().size(),
+                (runtime.totalMemory() - runtime.freeMemory() - heap) / 1024.0 / sessions.size(), time / 1e3 / sessions.size());
+
+        SessionGameData session = sessions.get(0);
+        Knight squire = session.getKnight("99999");
+        session.setActive(squire);
+        Knight played = session.getActive("99999");
+        played.addXP(5);
+        System.out.println(played.getName() + " played: " + (played != squire) + ", XP " + session.getKnight("99999").getXP()
+                + " in the session, " + server.getKnight("99999").getXP() + " on the server");
+
+        RosterView.Page page = session.getPage(RosterView.Order.XP, 1, 1, "squire");
+        System.out.println("Top squire: " + page.getKnights().get(0).getName() + " of " + page.getMatchCount());
+    }
+}
@@ -0,0 +1,162 @@
+package IO;
+
+import GameObjects.MobileObjects.Knight;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * A write-ahead journal of knights' XP, kept beside a save file.<br>
+ * <br>
+ * <p>
+ *     After each battle, the XP of the knights who fought is appended and synced to disk,<br>
+ *     which is far cheaper than saving the roster. On startup, the journal is replayed onto the loaded roster,<br>
+ *     recovering any XP earned since the last save. Saving to the journal's file clears it.
+ * </p>
+ * <p>
+ *     Each entry is <i>id (int), xp (int), checksum (int)</i>. XP is stored as a total, not a gain,<br>
+ *     so replaying an entry twice is harmless. A torn or corrupt entry ends the journal.
+ * </p>
+ *
+ * @see GameData#setJournal(XPJournal)
+ */
+public class XPJournal implements Closeable {
+    public static final String EXTENSION = ".journal";
+    private static final int ENTRY_SIZE = 12;
+
+    private final Path savePath; // The save file the journal belongs to.
+    private final FileChannel channel;
+    private ByteBuffer buffer; // Reused for writing entries.
+    private long recordCount; // The number of entries ever recorded.
+    private final CRC32C checksum;
+    private final ByteBuffer checksummed; // Reused for checksumming entries.
+
+    /**
+     * Opens the journal for a save file, creating it if needed.
+     *
+     * @param saveFilePath the save file
+     * @throws IOException if the journal cannot be opened
+     */
+    public XPJournal(String saveFilePath) throws IOException {
+        this.savePath = Path.of(saveFilePath).toAbsolutePath().normalize();
+        this.channel = FileChannel.open(Path.of(saveFilePath + EXTENSION),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocate(ENTRY_SIZE * 4);
+        this.checksum = new CRC32C();
+        this.checksummed = ByteBuffer.allocate(8);
+    }
+
+    /**
+     * Checks whether the journal belongs to a save file.
+     *
+     * @param filepath the save file
+     * @return whether saving to the file makes the journal redundant
+     */
+    public boolean isFor(String filepath) {
+        return savePath.equals(Path.of(filepath).toAbsolutePath().normalize());
+    }
+
+    /**
+     * Applies the journal to the knights of the given data.<br>
+     * <br>
+     * <p>
+     *     Knights are matched by ID, and entries for unknown knights are skipped.<br>
+     *     Anything after the last whole entry is cut off, so new entries follow it.
+     * </p>
+     *
+     * @param data the data to update
+     * @return the number of entries applied
+     * @throws IOException if the journal cannot be read
+     */
+    public int replay(GameData data) throws IOException {
+        ByteBuffer entries = ByteBuffer.allocate((int) Math.min(channel.size(), Integer.MAX_VALUE));
+        while (entries.hasRemaining() && channel.read(entries, entries.position()) > 0);
+        entries.flip();
+
+        int applied = 0;
+        while (entries.remaining() >= ENTRY_SIZE) {
+            int id = entries.getInt();
+            int xp = entries.getInt();
+            if (entries.getInt() != checksum(id, xp)) {
+                entries.position(entries.position() - ENTRY_SIZE);
+                break;
+            }
+
+            Optional<Knight> knight = data.findKnightID(id, data.getKnights());
+            if (knight.isPresent()) {
+                knight.get().addXP(xp - knight.get().getXP());
+                ++applied;
+            }
+        }
+
+        channel.truncate(entries.position());
+        channel.position(entries.position());
+        return applied;
+    }
+
+    /**
+     * Appends the XP of knights, and syncs it to disk.
+     *
+     * @param knights the knights whose XP changed
+     * @throws IOException if the journal cannot be written
+     */
+    public void record(List<Knight> knights) throws IOException {
+        if (buffer.capacity() < knights.size() * ENTRY_SIZE) {
+            buffer = ByteBuffer.allocate(knights.size() * ENTRY_SIZE);
+        }
+
+        buffer.clear();
+        for (Knight knight : knights) {
+            buffer.putInt(knight.getId()).putInt(knight.getXP()).putInt(checksum(knight.getId(), knight.getXP()));
+        }
+        buffer.flip();
+
+        while (buffer.hasRemaining()) channel.write(buffer);
+        channel.force(false);
+        recordCount += knights.size();
+    }
+
+    /**
+     * Gets the number of entries recorded since the journal was opened, including cleared ones.
+     *
+     * @return the entry count
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Empties the journal, once its XP has been saved.
+     *
+     * @throws IOException if the journal cannot be cleared
+     */
+    public void clear() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(false);
+    }
+
+    private int checksum(int id, int xp) {
+        checksum.reset();
+        checksummed.clear();
+        checksum.update(checksummed.putInt(id).putInt(xp).flip());
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Closes the journal, keeping its entries.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,24 +1,57 @@
 import GameEngine.CombatEngine;
 import IO.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 
 public class Main {
     private static String gameDataPath = "GameData\\NormalData";
     private static String saveDataPath = "SaveFiles\\default.csv";
+    private static SplittableRandom random = new SplittableRandom();
+    private static boolean journal = false;
+    private static String scriptPath = null; // Commands to run instead of prompting, or null.
 
     public Main() {}
 
     public static void main(String[] args) {
         processArgs(args);
 
-        GameData data = new CSVGameData(gameDataPath, saveDataPath);
-        GameView view = new ConsoleView();
-        CombatEngine engine = new CombatEngine(data, view);
+        GameData data = BinarySaveFormat.isBinary(saveDataPath)
+                ? new BinaryGameData(gameDataPath, saveDataPath, random.split())
+                : new CSVGameData(gameDataPath, saveDataPath, random.split());
+        if (journal) {
+            try {
+                data.setJournal(new XPJournal(saveDataPath));
+            }
+            catch (IOException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+        GameView view;
+        if (scriptPath == null) {
+            view = new ConsoleView();
+        }
+        else {
+            try {
+                view = new ScriptView(Path.of(scriptPath), System.out);
+            }
+            catch (IOException e) {
+                System.err.println("Cannot read script " + scriptPath + ": " + e.getMessage());
+                System.exit(2);
+                return;
+            }
+        }
+        CombatEngine engine = new CombatEngine(data, view, random.split());
         GameController controller = new GameController(data, view, engine);
 
         controller.start();
+
+        if (view instanceof ScriptView && ((ScriptView) view).getErrorCount() > 0) {
+            System.exit(1);
+        }
     }
 
     private static void processArgs(String[] args) {
@@ -29,6 +62,18 @@ public class Main {
 
             while (scanner.hasNext()) {
                 next = scanner.next();
+                if (next.equals("--journal")) {
+                    journal = true;
+                    continue;
+                }
+                if (next.equals("--script")) {
+                    scriptPath = scanner.next();
+                    continue;
+                }
+                if (next.equals("--seed")) {
+                    random = new SplittableRandom(Long.parseLong(scanner.next()));
+                    continue;
+                }
                 if (next.equals("--data")) {
                     gameDataPath = scanner.next();
                     next = scanner.next();